@@ -0,0 +1,133 @@
+package com.example.testbaseclass;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * ✅ ClassTimingExtension
+ * --------------------------------------------------------------------
+ * Measures the total runtime of each test class — from before-all to
+ * after-all, so Spring context startup and fixture loading are included.
+ *
+ * Two files are involved so that every fork and machine plans from the same data:
+ *   - snapshot: -Dtestbase.timing.file=... (default: .testbase-timings.properties
+ *     in the working directory, so it survives "mvn clean" and can be cached
+ *     in CI). Read by {@link TimingShardFilter} and {@link TimingClassOrderer};
+ *     never written during a test run.
+ *   - output: -Dtestbase.timing.output=... (default:
+ *     target/testbase-timings/&lt;fork&gt;.properties, one per surefire fork or
+ *     process). Receives this run's measurements.
+ *
+ * After the run, {@link TimingMerge} folds the outputs into the snapshot.
+ * Values are milliseconds.
+ */
+public class ClassTimingExtension implements BeforeAllCallback, AfterAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ClassTimingExtension.class);
+    private static final String START = "start";
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(START, Long.class);
+        // parity runs execute classes twice on different engines — not representative shard timings
+        if (start == null || context.getTestClass().isEmpty() || Boolean.getBoolean("test.parity.enabled")) {
+            return;
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        try {
+            record(context.getTestClass().get().getName(), millis);
+        } catch (IOException e) {
+            System.out.println("[TESTBASE] ⚠ Could not write timing output: " + e.getMessage());
+        }
+    }
+
+    /** Read-only snapshot the shard plan and class order are computed from. */
+    public static Path timingFile() {
+        return Path.of(System.getProperty("testbase.timing.file", ".testbase-timings.properties"));
+    }
+
+    /** Where this JVM writes the class runtimes it measures. */
+    public static Path timingOutput() {
+        String configured = System.getProperty("testbase.timing.output");
+        return Path.of(configured != null ? configured
+                : "target/testbase-timings/" + RequestMetricsRecorder.forkId() + ".properties");
+    }
+
+    /** Historical class runtimes in milliseconds from the snapshot, keyed by class name (empty if no file yet). */
+    public static Map<String, Long> loadTimings() {
+        return loadTimings(timingFile());
+    }
+
+    /** Class runtimes in milliseconds from a timing file, keyed by class name (empty if the file is missing). */
+    public static Map<String, Long> loadTimings(Path file) {
+        Map<String, Long> timings = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return timings;
+        }
+        Properties props = new Properties();
+        try (var in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException e) {
+            System.out.println("[TESTBASE] ⚠ Could not read timing file " + file + ": " + e.getMessage());
+            return timings;
+        }
+        for (String name : props.stringPropertyNames()) {
+            try {
+                timings.put(name, Long.parseLong(props.getProperty(name).trim()));
+            } catch (NumberFormatException ignored) {
+                // hand-edited or corrupt entry — treat the class as unknown
+            }
+        }
+        return timings;
+    }
+
+    // synchronized: FileLock only guards against other JVMs sharing a configured output, not other threads
+    private static synchronized void record(String className, long millis) throws IOException {
+        Path file = timingOutput();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+
+            ByteBuffer existing = ByteBuffer.allocate((int) channel.size());
+            while (existing.hasRemaining() && channel.read(existing) >= 0) {
+                // read the whole file
+            }
+            Properties props = new Properties();
+            props.load(new ByteArrayInputStream(existing.array()));
+
+            // smoothing against history happens in TimingMerge; the output holds this run's value
+            props.setProperty(className, Long.toString(millis));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            props.store(out, "TestBase class runtimes of one run (ms)");
+            ByteBuffer content = ByteBuffer.wrap(out.toByteArray());
+            channel.truncate(0);
+            channel.position(0);
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+    }
+}
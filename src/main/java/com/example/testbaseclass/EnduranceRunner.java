@@ -0,0 +1,276 @@
+package com.example.testbaseclass;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ EnduranceRunner
+ * --------------------------------------------------------------------
+ * Soak mode: replays a set of request steps for an iteration count or a
+ * duration and samples, every few iterations,
+ *   - heap used after a full GC
+ *   - active connections of the Hikari pool (test-container profile)
+ *   - live thread count
+ *
+ * After the run a least-squares trend is fitted to each series (warm-up
+ * samples excluded). A metric that grows steadily beyond its allowance fails
+ * the run. The samples are always written as CSV for inspection
+ * (default: target/testbase-endurance/&lt;name&gt;.csv, override with
+ * -Dtestbase.endurance.dir=...).
+ *
+ * Request metrics and SQL statement recording are suspended during the run,
+ * so the test base's own bookkeeping does not show up as growth (and
+ * metricsOf is not available inside steps). Steps should leave the data set
+ * the same size: a step that inserts a row per iteration grows the
+ * application's state, and with H2 the heap, by design.
+ *
+ * Example:
+ * endurance("user-updates")
+ *         .duration(Duration.ofMinutes(10))
+ *         .run(() -> utils.doGet("/api/users/1"),
+ *              () -> utils.doPut("/api/users/1", user));
+ */
+public class EnduranceRunner {
+
+    /** One replayed request (or any action) — typically a TestRequestUtils call. */
+    @FunctionalInterface
+    public interface Step {
+        void run() throws Exception;
+    }
+
+    /** One point of the time series; activeConnections is -1 when the pool is not Hikari. */
+    public record Sample(long elapsedMillis, long iteration, long heapBytes, int activeConnections, int threads) {
+    }
+
+    private static final double MIN_R_SQUARED = 0.6;
+    private static final int MIN_TREND_SAMPLES = 4;
+
+    private final String name;
+    private final DataSource dataSource;
+
+    private long iterations = -1;
+    private Duration duration;
+    private int sampleEvery = 100;
+    private int warmupSamples = 2;
+    private long maxHeapGrowthBytes = 16L * 1024 * 1024;
+    private int maxConnectionGrowth = 1;
+    private int maxThreadGrowth = 2;
+
+    public EnduranceRunner(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    /** Stop after this many iterations (each iteration runs every step once). */
+    public EnduranceRunner iterations(long iterations) {
+        this.iterations = iterations;
+        return this;
+    }
+
+    /** Stop after this much wall-clock time. */
+    public EnduranceRunner duration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    /** Take a sample every n iterations (default 100). */
+    public EnduranceRunner sampleEvery(int iterations) {
+        this.sampleEvery = Math.max(1, iterations);
+        return this;
+    }
+
+    /** Leading samples ignored by the trend fit (default 2). */
+    public EnduranceRunner warmupSamples(int samples) {
+        this.warmupSamples = Math.max(0, samples);
+        return this;
+    }
+
+    /** Allowed post-GC heap growth across the run (default 16 MB). */
+    public EnduranceRunner maxHeapGrowthBytes(long bytes) {
+        this.maxHeapGrowthBytes = bytes;
+        return this;
+    }
+
+    /** Allowed growth of active pool connections across the run (default 1). */
+    public EnduranceRunner maxConnectionGrowth(int connections) {
+        this.maxConnectionGrowth = connections;
+        return this;
+    }
+
+    /** Allowed growth of live threads across the run (default 2). */
+    public EnduranceRunner maxThreadGrowth(int threads) {
+        this.maxThreadGrowth = threads;
+        return this;
+    }
+
+    /**
+     * Replay the steps until the iteration or duration limit is reached
+     * (1000 iterations if neither is set), write the time series, and fail
+     * if any sampled metric shows unbounded growth.
+     *
+     * @return the CSV file with the samples
+     */
+    public Path run(Step... steps) throws Exception {
+        if (steps.length == 0) {
+            throw new IllegalArgumentException("❌ Endurance run '" + name + "' needs at least one step");
+        }
+        long maxIterations = iterations > 0 ? iterations : (duration == null ? 1000 : Long.MAX_VALUE);
+        long deadline = duration == null ? Long.MAX_VALUE : System.nanoTime() + duration.toNanos();
+
+        List<Sample> samples = new ArrayList<>();
+        long iteration = 0;
+        RequestMetricsRecorder.suspend();
+        SqlStatementRecorder.suspend();
+        try {
+            long start = System.nanoTime();
+            samples.add(sample(start, 0));
+
+            while (iteration < maxIterations && System.nanoTime() < deadline) {
+                for (Step step : steps) {
+                    step.run();
+                }
+                iteration++;
+                if (iteration % sampleEvery == 0) {
+                    samples.add(sample(start, iteration));
+                }
+            }
+            if (iteration % sampleEvery != 0) {
+                samples.add(sample(start, iteration));
+            }
+        } finally {
+            SqlStatementRecorder.resume();
+            RequestMetricsRecorder.resume();
+        }
+
+        Path csv = writeSeries(samples);
+        System.out.println("[TESTBASE] Endurance run '" + name + "': " + iteration + " iterations, "
+                + samples.size() + " samples → " + csv.toAbsolutePath());
+
+        List<Sample> trendSamples = samples.size() > warmupSamples ? samples.subList(warmupSamples, samples.size()) : List.of();
+        List<String> leaks = new ArrayList<>();
+        checkTrend(leaks, "post-GC heap (bytes)", trendSamples, s -> s.heapBytes(), maxHeapGrowthBytes);
+        if (samples.get(0).activeConnections() >= 0) {
+            checkTrend(leaks, "active connections", trendSamples, s -> s.activeConnections(), maxConnectionGrowth);
+        }
+        checkTrend(leaks, "live threads", trendSamples, s -> s.threads(), maxThreadGrowth);
+
+        if (!leaks.isEmpty()) {
+            throw new AssertionError("❌ Endurance run '" + name + "' detected unbounded growth:\n  - "
+                    + String.join("\n  - ", leaks) + "\nTime series: " + csv.toAbsolutePath());
+        }
+        return csv;
+    }
+
+    // -------------------------------------------------------
+    // 🔹 Sampling
+    // -------------------------------------------------------
+
+    private Sample sample(long start, long iteration) {
+        return new Sample((System.nanoTime() - start) / 1_000_000, iteration,
+                postGcHeapBytes(), activeConnections(), ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    private static long postGcHeapBytes() {
+        System.gc();
+        long used = 0;
+        boolean found = false;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                MemoryUsage afterGc = pool.getCollectionUsage();
+                if (afterGc != null) {
+                    used += afterGc.getUsed();
+                    found = true;
+                }
+            }
+        }
+        return found ? used : ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private int activeConnections() {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                return pool != null ? pool.getActiveConnections() : 0;
+            }
+        } catch (Exception e) {
+            System.out.println("[TESTBASE] ⚠ Could not read pool connections: " + e.getMessage());
+        }
+        return -1;
+    }
+
+    // -------------------------------------------------------
+    // 🔹 Trend fitting
+    // -------------------------------------------------------
+
+    private interface Metric {
+        double of(Sample sample);
+    }
+
+    /**
+     * Least-squares fit of the metric against sample index. Growth is the fitted
+     * increase over the run; it counts as a leak only when it exceeds the
+     * allowance and the fit explains most of the variance (steady growth, not noise).
+     */
+    private static void checkTrend(List<String> leaks, String label, List<Sample> samples, Metric metric, double allowed) {
+        int n = samples.size();
+        if (n < MIN_TREND_SAMPLES) {
+            return;
+        }
+
+        double meanX = (n - 1) / 2.0;
+        double meanY = 0;
+        for (Sample s : samples) {
+            meanY += metric.of(s);
+        }
+        meanY /= n;
+
+        double sxy = 0, sxx = 0, syy = 0;
+        for (int i = 0; i < n; i++) {
+            double dx = i - meanX;
+            double dy = metric.of(samples.get(i)) - meanY;
+            sxy += dx * dy;
+            sxx += dx * dx;
+            syy += dy * dy;
+        }
+        if (sxx == 0 || syy == 0) {
+            return;
+        }
+
+        double slope = sxy / sxx;
+        double rSquared = (sxy * sxy) / (sxx * syy);
+        double growth = slope * (n - 1);
+
+        if (growth > allowed && rSquared >= MIN_R_SQUARED) {
+            leaks.add(String.format("%s grew by %.0f (allowed %.0f, slope %.2f/sample, r²=%.2f)",
+                    label, growth, allowed, slope, rSquared));
+        }
+    }
+
+    private Path writeSeries(List<Sample> samples) throws IOException {
+        Path dir = Path.of(System.getProperty("testbase.endurance.dir", "target/testbase-endurance"));
+        Files.createDirectories(dir);
+        Path csv = dir.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".csv");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            out.println("elapsedMillis,iteration,heapBytes,activeConnections,threads");
+            for (Sample s : samples) {
+                out.println(s.elapsedMillis() + "," + s.iteration() + "," + s.heapBytes() + ","
+                        + s.activeConnections() + "," + s.threads());
+            }
+        }
+        return csv;
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.testbaseclass;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
@@ -10,6 +13,10 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import org.springframework.context.annotation.Import;
 
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@ExtendWith(ClassTimingExtension.class) // first, so its timing wraps context startup and fixture loading
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test") // central single profile to load application-test.properties
@@ -25,14 +32,35 @@ public abstract class IntegrationTestBase {
     @Autowired
     protected TestDataLoader testDataLoader;
 
+    @Autowired(required = false)
+    protected DataSource dataSource;
+
+    @Value("${test.queryplan.row-threshold:1000}")
+    protected long queryPlanRowThreshold;
+
+    @Value("${test.queryplan.enabled:false}")
+    protected boolean queryPlanEnabled;
+
+    @Value("${test.profile:test-local}")
+    protected String testProfile;
+
     @BeforeEach
     public void beforeEachBase() {
+    SqlStatementRecorder.reset(); // query plans are analyzed per test
     if (testDataLoader != null) {
         testDataLoader.loadSql("classpath:data/init.sql");
         testDataLoader.loadJson("classpath:data/data.json");
     }
 }
 
+    // Logs plan findings for the SQL of every test (opt-in: test.queryplan.enabled on test-container)
+    @AfterEach
+    public void afterEachQueryPlans() throws SQLException {
+        if (queryPlanEnabled && "test-container".equals(testProfile) && SqlStatementRecorder.isRecording(dataSource)) {
+            queryPlans().analyze();
+        }
+    }
+
 
 
     // Utility helper - convert object to JSON
@@ -40,6 +68,16 @@ public abstract class IntegrationTestBase {
         return objectMapper.writeValueAsString(obj);
     }
 
+    // Utility helper - soak/endurance run sampling heap, pool connections and threads
+    protected EnduranceRunner endurance(String name) {
+        return new EnduranceRunner(name, dataSource);
+    }
+
+    // Utility helper - EXPLAIN the SQL recorded during this test (test-container + test.queryplan.enabled)
+    protected QueryPlanInspector queryPlans() {
+        return new QueryPlanInspector(dataSource, queryPlanRowThreshold);
+    }
+
     // Utility helper - parse JSON (tests can use objectMapper directly)
     protected <T> T fromJson(String json, Class<T> clazz) throws Exception {
         return objectMapper.readValue(json, clazz);
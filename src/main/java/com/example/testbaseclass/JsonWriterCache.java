@@ -0,0 +1,39 @@
+package com.example.testbaseclass;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches one {@link ObjectWriter} per value type so request bodies are
+ * serialized straight to bytes without re-resolving serializers on every call.
+ */
+final class JsonWriterCache {
+
+    static final byte[] NULL_JSON = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    JsonWriterCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /** Serialize a value to UTF-8 JSON bytes using the cached writer for its type. */
+    byte[] write(Object value) throws JsonProcessingException {
+        if (value == null) {
+            return NULL_JSON;
+        }
+        return writers
+                .computeIfAbsent(value.getClass(), objectMapper::writerFor)
+                .writeValueAsBytes(value);
+    }
+
+    ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.testbaseclass;
+
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.cache.DefaultCacheAwareContextLoaderDelegate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+/**
+ * ✅ ParityReportRunner
+ * --------------------------------------------------------------------
+ * Runs the selected test classes twice in one JVM — first on H2
+ * (test.profile=test-local), then on the Postgres container
+ * (test.profile=test-container) — and writes a side-by-side report of
+ * per-request and per-statement timings.
+ *
+ * Absolute timings always differ between engines, so each engine's costs are
+ * normalized by its own total over the entries seen on both. An entry is
+ * flagged when its relative cost on Postgres differs from H2 by more than
+ * the configured factor — the places where optimizing against H2 misleads.
+ *
+ * By default both engines first get an unmeasured warm-up pass, so JIT
+ * compilation and class loading are not charged to whichever engine runs
+ * first. Between runs every Spring context started for the previous engine
+ * is closed (releasing its DataSource) before the context cache is cleared.
+ *
+ * Usage (from the project using this library):
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.testbaseclass.ParityReportRunner
+ *       -Dexec.args="com.myapp.UserControllerTest com.myapp.OrderControllerTest"
+ *
+ * Options (system properties):
+ *   testbase.parity.factor   flag threshold (default 2.0)
+ *   testbase.parity.report   output file (default target/testbase-parity-report.md)
+ *   testbase.parity.warmup   unmeasured pass on both engines first (default true)
+ */
+public final class ParityReportRunner {
+
+    private static final String H2 = "test-local";
+    private static final String POSTGRES = "test-container";
+    private static final int MAX_SQL_LENGTH = 120;
+
+    private static final Set<ConfigurableApplicationContext> CONTEXTS = ConcurrentHashMap.newKeySet();
+
+    /** Count and mean time of one endpoint or statement on one engine. */
+    public record Timing(long count, long meanNanos) {
+    }
+
+    /** Everything measured during one engine's run. */
+    public record EngineRun(String engine, Map<String, Timing> requests, Map<String, Timing> statements,
+                            long testsSucceeded, long testsFailed) {
+    }
+
+    private ParityReportRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: ParityReportRunner <test class> [<test class> ...]");
+            return;
+        }
+        double factor = Double.parseDouble(System.getProperty("testbase.parity.factor", "2.0"));
+        Path report = Path.of(System.getProperty("testbase.parity.report", "target/testbase-parity-report.md"));
+        boolean warmup = Boolean.parseBoolean(System.getProperty("testbase.parity.warmup", "true"));
+        run(List.of(args), factor, report, warmup);
+    }
+
+    /** Run the classes on both engines, after a warm-up pass, and write the report. */
+    public static Path run(List<String> classNames, double factor, Path report) throws IOException {
+        return run(classNames, factor, report, true);
+    }
+
+    /** Run the classes on both engines and write the report. */
+    public static Path run(List<String> classNames, double factor, Path report, boolean warmup) throws IOException {
+        String previousProfile = System.getProperty("test.profile");
+        String previousParity = System.getProperty("test.parity.enabled");
+        System.setProperty("test.parity.enabled", "true");
+
+        EngineRun h2;
+        EngineRun postgres;
+        try {
+            if (warmup) {
+                // results discarded: runOn resets all recorders before it starts
+                runOn(H2, classNames, "warm-up");
+                runOn(POSTGRES, classNames, "warm-up");
+            }
+            h2 = runOn(H2, classNames, "measured");
+            postgres = runOn(POSTGRES, classNames, "measured");
+        } finally {
+            restore("test.profile", previousProfile);
+            restore("test.parity.enabled", previousParity);
+            closeContexts();
+        }
+
+        String markdown = render(h2, postgres, factor);
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        Files.writeString(report, markdown, StandardCharsets.UTF_8);
+        System.out.println(markdown);
+        System.out.println("[TESTBASE] Parity report written to " + report.toAbsolutePath());
+        return report;
+    }
+
+    // -------------------------------------------------------
+    // 🔹 Running
+    // -------------------------------------------------------
+
+    private static EngineRun runOn(String engine, List<String> classNames, String pass) {
+        System.out.println("\n[TESTBASE] ▶ Parity run on " + engine + " (" + pass + ")");
+        System.setProperty("test.profile", engine);
+        // the profile is read when the context starts, so contexts from the previous engine must not be reused
+        closeContexts();
+        RequestMetricsRecorder.reset();
+        SqlStatementRecorder.resetTimings();
+
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(classNames.stream().map(name -> selectClass(name)).toList())
+                .build();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        LauncherFactory.create().execute(request, listener);
+        TestExecutionSummary summary = listener.getSummary();
+
+        Map<String, Timing> requestTimings = new HashMap<>();
+        for (RequestMetricsRecorder.EndpointStats stats : RequestMetricsRecorder.stats()) {
+            requestTimings.put(stats.endpoint(), new Timing(stats.count(), stats.meanWallNanos()));
+        }
+
+        Map<String, Timing> statementTimings = new HashMap<>();
+        for (SqlStatementRecorder.StatementTiming t : SqlStatementRecorder.timings()) {
+            statementTimings.put(t.sql(), new Timing(t.executions(), t.meanNanos()));
+        }
+
+        return new EngineRun(engine, requestTimings, statementTimings,
+                summary.getTestsSucceededCount(), summary.getTestsFailedCount());
+    }
+
+    /** Registered by TestDatabaseConfig for every context started while test.parity.enabled is set. */
+    static void track(ConfigurableApplicationContext context) {
+        CONTEXTS.add(context);
+    }
+
+    /** Clearing the cache only drops references, so close the contexts (and their pools/databases) first. */
+    private static void closeContexts() {
+        for (ConfigurableApplicationContext context : CONTEXTS) {
+            if (context.isActive()) {
+                context.close();
+            }
+        }
+        CONTEXTS.clear();
+        ContextCaches.clear();
+    }
+
+    private static void restore(String key, String previous) {
+        if (previous == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, previous);
+        }
+    }
+
+    // -------------------------------------------------------
+    // 🔹 Report
+    // -------------------------------------------------------
+
+    private record Row(String key, Timing h2, Timing postgres, double shift) {
+        boolean flagged(double factor) {
+            return h2 != null && postgres != null && (shift > factor || shift < 1 / factor);
+        }
+    }
+
+    private static String render(EngineRun h2, EngineRun postgres, double factor) {
+        StringBuilder md = new StringBuilder("# H2 vs PostgreSQL parity report\n\n");
+        md.append("| engine | tests passed | tests failed |\n|---|---:|---:|\n");
+        for (EngineRun run : List.of(h2, postgres)) {
+            md.append("| ").append(run.engine()).append(" | ").append(run.testsSucceeded())
+                    .append(" | ").append(run.testsFailed()).append(" |\n");
+        }
+        md.append("\nRelative cost = time / engine total over entries seen on both engines. ")
+                .append("⚠ marks a relative cost shift above ").append(factor).append("× in either direction.\n");
+
+        section(md, "Requests", h2.requests(), postgres.requests(), factor);
+        section(md, "SQL statements", h2.statements(), postgres.statements(), factor);
+        return md.toString();
+    }
+
+    private static void section(StringBuilder md, String title, Map<String, Timing> h2, Map<String, Timing> postgres,
+                                double factor) {
+        long h2Total = 0;
+        long postgresTotal = 0;
+        for (String key : h2.keySet()) {
+            if (postgres.containsKey(key)) {
+                h2Total += h2.get(key).meanNanos();
+                postgresTotal += postgres.get(key).meanNanos();
+            }
+        }
+
+        List<Row> rows = new ArrayList<>();
+        TreeSet<String> keys = new TreeSet<>(h2.keySet());
+        keys.addAll(postgres.keySet());
+        for (String key : keys) {
+            Timing a = h2.get(key);
+            Timing b = postgres.get(key);
+            double shift = Double.NaN;
+            if (a != null && b != null && h2Total > 0 && postgresTotal > 0) {
+                double relH2 = Math.max(1, a.meanNanos()) / (double) h2Total;
+                double relPostgres = Math.max(1, b.meanNanos()) / (double) postgresTotal;
+                shift = relPostgres / relH2;
+            }
+            rows.add(new Row(key, a, b, shift));
+        }
+        // biggest divergence first, entries missing on one engine last
+        rows.sort(Comparator.comparingDouble((Row r) -> Double.isNaN(r.shift()) ? -1 : Math.abs(Math.log(r.shift())))
+                .reversed());
+
+        md.append("\n## ").append(title).append("\n\n");
+        md.append("| | ").append(title.equals("Requests") ? "endpoint" : "statement")
+                .append(" | H2 count | H2 mean (ms) | PG count | PG mean (ms) | PG/H2 | relative cost shift |\n");
+        md.append("|---|---|---:|---:|---:|---:|---:|---:|\n");
+        for (Row row : rows) {
+            md.append("| ").append(row.flagged(factor) ? "⚠" : "")
+                    .append(" | `").append(escape(row.key())).append("` | ")
+                    .append(count(row.h2())).append(" | ").append(millis(row.h2())).append(" | ")
+                    .append(count(row.postgres())).append(" | ").append(millis(row.postgres())).append(" | ")
+                    .append(ratio(row)).append(" | ")
+                    .append(Double.isNaN(row.shift()) ? "—" : String.format("%.2f×", row.shift())).append(" |\n");
+        }
+    }
+
+    private static String count(Timing t) {
+        return t == null ? "—" : Long.toString(t.count());
+    }
+
+    private static String millis(Timing t) {
+        return t == null ? "—" : String.format("%.3f", t.meanNanos() / 1e6);
+    }
+
+    private static String ratio(Row row) {
+        if (row.h2() == null || row.postgres() == null || row.h2().meanNanos() == 0) {
+            return "—";
+        }
+        return String.format("%.2f", row.postgres().meanNanos() / (double) row.h2().meanNanos());
+    }
+
+    private static String escape(String text) {
+        String oneLine = text.replaceAll("\\s+", " ").replace("|", "\\|").replace("`", "'");
+        return oneLine.length() > MAX_SQL_LENGTH ? oneLine.substring(0, MAX_SQL_LENGTH) + "…" : oneLine;
+    }
+
+    /**
+     * Access to Spring's shared static test context cache (the one a default
+     * delegate uses), which is only exposed through a protected getter.
+     */
+    private static final class ContextCaches extends DefaultCacheAwareContextLoaderDelegate {
+        static void clear() {
+            new ContextCaches().getContextCache().clear();
+        }
+    }
+}
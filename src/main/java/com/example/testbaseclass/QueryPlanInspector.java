@@ -0,0 +1,342 @@
+package com.example.testbaseclass;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * ✅ QueryPlanInspector
+ * --------------------------------------------------------------------
+ * Explains every statement captured by {@link SqlStatementRecorder} during
+ * the current test and flags:
+ *   - sequential scans on tables with at least rowThreshold rows
+ *   - nested loops whose inner side sequentially scans such a table
+ *     (a join that is missing an index)
+ *
+ * Only meaningful on PostgreSQL (test.profile=test-container) with
+ * test.queryplan.enabled=true; IntegrationTestBase then also analyzes and
+ * logs the plans after each test.
+ *
+ * EXPLAIN ANALYZE executes the statement, so it is only used for plain
+ * reads. Data-modifying statements (INSERT/UPDATE/DELETE, data-modifying
+ * CTEs, SELECT ... FOR UPDATE) and anything calling nextval()/setval() are
+ * explained without ANALYZE: they are planned but never run, because a
+ * rollback would not undo sequence increments or side effects of triggers.
+ * Table row counts are taken before any statement is analyzed, in their
+ * own transaction. Plans are explained VERBOSE, so tables are identified
+ * with their schema.
+ *
+ * The row threshold only applies to these advisory findings: on small test
+ * fixtures PostgreSQL seq-scans whether or not an index exists.
+ * {@link #assertIndexAccess} therefore re-plans each statement with
+ * enable_seqscan=off, so a remaining Seq Scan means there is no usable index,
+ * whatever the table size.
+ *
+ * Example:
+ * queryPlans().assertIndexAccess("GET /api/users/1");
+ */
+public class QueryPlanInspector {
+
+    /** A plan problem found for a recorded statement. */
+    public record Finding(String endpoint, String sql, String kind, String table, long tableRows) {
+        @Override
+        public String toString() {
+            return kind + " on " + table + " (" + tableRows + " rows) for " + (endpoint != null ? endpoint : "(no request)")
+                    + ": " + sql;
+        }
+    }
+
+    public static final String SEQ_SCAN = "Seq Scan";
+    public static final String NESTED_LOOP_SEQ_SCAN = "Nested Loop over Seq Scan";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern SIDE_EFFECTS = Pattern.compile(
+            "\\b(insert|update|delete|merge|nextval|setval|lock)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final DataSource dataSource;
+    private final long rowThreshold;
+
+    private final List<String> skipped = new ArrayList<>();
+
+    public QueryPlanInspector(DataSource dataSource, long rowThreshold) {
+        this.dataSource = SqlStatementRecorder.unwrap(dataSource);
+        this.rowThreshold = rowThreshold;
+    }
+
+    /** Explain every recorded statement and return the findings. */
+    public List<Finding> analyze() throws SQLException {
+        List<Finding> findings = new ArrayList<>();
+        skipped.clear();
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                // 1. plan without executing, to learn which tables are scanned
+                Map<SqlStatementRecorder.RecordedStatement, JsonNode> plans = new LinkedHashMap<>();
+                for (SqlStatementRecorder.RecordedStatement statement : SqlStatementRecorder.statements()) {
+                    if (!isExplainable(statement.sql())) {
+                        continue;
+                    }
+                    try {
+                        plans.put(statement, explain(connection, statement, false));
+                    } catch (Exception e) {
+                        skipped.add(statement.sql() + " → " + e.getMessage());
+                    } finally {
+                        connection.rollback();
+                    }
+                }
+
+                // 2. row counts before anything is executed, in their own transaction
+                Map<String, String> tables = new LinkedHashMap<>(); // schema.table -> quoted SQL name
+                plans.values().forEach(plan -> collectRelations(plan, tables));
+                Map<String, Long> tableRows = rowCounts(connection, tables);
+                connection.rollback();
+
+                // 3. re-explain plain reads with ANALYZE for the actual plan; inspect
+                for (Map.Entry<SqlStatementRecorder.RecordedStatement, JsonNode> entry : plans.entrySet()) {
+                    SqlStatementRecorder.RecordedStatement statement = entry.getKey();
+                    JsonNode plan = entry.getValue();
+                    if (isReadOnly(statement.sql())) {
+                        try {
+                            plan = explain(connection, statement, true);
+                        } catch (Exception e) {
+                            skipped.add(statement.sql() + " → " + e.getMessage() + " (using plan without ANALYZE)");
+                        } finally {
+                            connection.rollback();
+                        }
+                    }
+                    inspect(statement, plan.path(0).path("Plan"), tableRows, findings);
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+
+        for (Finding finding : findings) {
+            System.out.println("[TESTBASE] ⚠ Query plan: " + finding);
+        }
+        for (String s : skipped) {
+            System.out.println("[TESTBASE] ⚠ Could not explain: " + s);
+        }
+        return findings;
+    }
+
+    /**
+     * Assert that every statement issued while serving the given endpoints can
+     * use an index. An endpoint is "METHOD url" (e.g. "GET /api/users") or just
+     * the url to match any method.
+     *
+     * Each statement is planned (not executed) with enable_seqscan=off in a
+     * rolled-back transaction; the planner then only picks a Seq Scan when no
+     * index can serve the access, independent of how many rows the table holds.
+     */
+    public void assertIndexAccess(String... endpoints) throws SQLException {
+        List<SqlStatementRecorder.RecordedStatement> recorded = SqlStatementRecorder.statements();
+
+        List<String> failures = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (String endpoint : endpoints) {
+                    List<SqlStatementRecorder.RecordedStatement> statements = recorded.stream()
+                            .filter(s -> matches(s.endpoint(), endpoint))
+                            .toList();
+                    if (statements.isEmpty()) {
+                        failures.add(endpoint + ": no SQL recorded (is test.queryplan.enabled=true with test.profile=test-container?)");
+                        continue;
+                    }
+                    for (SqlStatementRecorder.RecordedStatement statement : statements) {
+                        if (isExplainable(statement.sql())) {
+                            checkIndexAccess(connection, statement, failures);
+                        }
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new AssertionError("❌ Expected index access but found:\n  - " + String.join("\n  - ", failures));
+        }
+    }
+
+    private void checkIndexAccess(Connection connection, SqlStatementRecorder.RecordedStatement statement,
+                                  List<String> failures) throws SQLException {
+        String endpoint = statement.endpoint();
+        try {
+            try (Statement st = connection.createStatement()) {
+                st.execute("SET LOCAL enable_seqscan = off");
+            }
+            Map<String, String> scanned = new LinkedHashMap<>();
+            collectSeqScans(explain(connection, statement, false), scanned);
+            for (String table : scanned.keySet()) {
+                failures.add(SEQ_SCAN + " on " + table + " even with enable_seqscan=off (no usable index) for "
+                        + endpoint + ": " + statement.sql());
+            }
+        } catch (Exception e) {
+            failures.add("could not explain for " + endpoint + ": " + statement.sql() + " → " + e.getMessage());
+        } finally {
+            connection.rollback(); // also ends the SET LOCAL
+        }
+    }
+
+    /** Statements that could not be explained in the last analysis, with the reason. */
+    public List<String> getSkipped() {
+        return List.copyOf(skipped);
+    }
+
+    // -------------------------------------------------------
+    // 🔹 Plan analysis
+    // -------------------------------------------------------
+
+    private JsonNode explain(Connection connection, SqlStatementRecorder.RecordedStatement statement,
+                             boolean analyze) throws Exception {
+        String options = analyze ? "ANALYZE, BUFFERS, VERBOSE, FORMAT JSON" : "VERBOSE, FORMAT JSON";
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN (" + options + ") " + statement.sql())) {
+            List<Object> parameters = statement.parameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                ps.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return MAPPER.readTree(rs.getString(1));
+            }
+        }
+    }
+
+    private void inspect(SqlStatementRecorder.RecordedStatement statement, JsonNode node,
+                         Map<String, Long> tableRows, List<Finding> findings) {
+        if (node.isMissingNode()) {
+            return;
+        }
+
+        String nodeType = node.path("Node Type").asText();
+        if (SEQ_SCAN.equals(nodeType)) {
+            addIfLarge(statement, node, SEQ_SCAN, tableRows, findings);
+        } else if ("Nested Loop".equals(nodeType) && node.path("Plans").size() > 1) {
+            JsonNode inner = seqScanBelow(node.path("Plans").get(1));
+            if (inner != null) {
+                addIfLarge(statement, inner, NESTED_LOOP_SEQ_SCAN, tableRows, findings);
+            }
+        }
+
+        for (JsonNode child : node.path("Plans")) {
+            inspect(statement, child, tableRows, findings);
+        }
+    }
+
+    /** Every relation scanned anywhere in the plan tree, as schema.table → quoted SQL name. */
+    private static void collectRelations(JsonNode node, Map<String, String> tables) {
+        if (node.has("Relation Name")) {
+            tables.put(relation(node), quotedRelation(node));
+        }
+        for (JsonNode child : node.isArray() ? node : node.path("Plans")) {
+            collectRelations(child, tables);
+        }
+        if (node.has("Plan")) {
+            collectRelations(node.get("Plan"), tables);
+        }
+    }
+
+    /** Relations read by a Seq Scan anywhere in the plan tree. */
+    private static void collectSeqScans(JsonNode node, Map<String, String> tables) {
+        if (SEQ_SCAN.equals(node.path("Node Type").asText()) && node.has("Relation Name")) {
+            tables.put(relation(node), quotedRelation(node));
+        }
+        for (JsonNode child : node.isArray() ? node : node.path("Plans")) {
+            collectSeqScans(child, tables);
+        }
+        if (node.has("Plan")) {
+            collectSeqScans(node.get("Plan"), tables);
+        }
+    }
+
+    /** "schema.table" of a scan node (VERBOSE plans report the schema). */
+    private static String relation(JsonNode node) {
+        String table = node.path("Relation Name").asText(null);
+        String schema = node.path("Schema").asText(null);
+        return schema == null || table == null ? table : schema + "." + table;
+    }
+
+    private static String quotedRelation(JsonNode node) {
+        String table = quote(node.path("Relation Name").asText());
+        String schema = node.path("Schema").asText(null);
+        return schema == null ? table : quote(schema) + "." + table;
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    /** The Seq Scan at the bottom of a single-child chain (e.g. Materialize → Seq Scan), if any. */
+    private static JsonNode seqScanBelow(JsonNode node) {
+        while (node != null) {
+            if (SEQ_SCAN.equals(node.path("Node Type").asText())) {
+                return node;
+            }
+            node = node.path("Plans").size() == 1 ? node.path("Plans").get(0) : null;
+        }
+        return null;
+    }
+
+    private void addIfLarge(SqlStatementRecorder.RecordedStatement statement, JsonNode scan, String kind,
+                            Map<String, Long> tableRows, List<Finding> findings) {
+        String table = relation(scan);
+        Long rows = table != null ? tableRows.get(table) : null;
+        if (rows != null && rows >= rowThreshold) {
+            findings.add(new Finding(statement.endpoint(), statement.sql(), kind, table, rows));
+        }
+    }
+
+    private Map<String, Long> rowCounts(Connection connection, Map<String, String> tables) throws SQLException {
+        Map<String, Long> rows = new HashMap<>();
+        for (Map.Entry<String, String> entry : tables.entrySet()) {
+            String table = entry.getKey();
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT count(*) FROM " + entry.getValue())) {
+                rs.next();
+                rows.put(table, rs.getLong(1));
+            } catch (SQLException e) {
+                skipped.add("row count of " + table + " → " + e.getMessage());
+                connection.rollback(); // a failed statement aborts the transaction
+            }
+        }
+        return rows;
+    }
+
+    /** Plain reads, safe to execute under EXPLAIN ANALYZE. */
+    private static boolean isReadOnly(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return (head.startsWith("select") || head.startsWith("with")) && !SIDE_EFFECTS.matcher(sql).find();
+    }
+
+    private static boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("with") || head.startsWith("insert")
+                || head.startsWith("update") || head.startsWith("delete");
+    }
+
+    private static boolean matches(String recordedEndpoint, String endpoint) {
+        if (recordedEndpoint == null) {
+            return false;
+        }
+        return recordedEndpoint.equals(endpoint)
+                || recordedEndpoint.substring(recordedEndpoint.indexOf(' ') + 1).equals(endpoint);
+    }
+}
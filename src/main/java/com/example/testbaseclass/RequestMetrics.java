@@ -0,0 +1,40 @@
+package com.example.testbaseclass;
+
+/**
+ * Resource usage of a single MockMvc request, measured on the thread that executed it.
+ * A value of -1 means the JVM does not support that measurement.
+ *
+ * @param method         HTTP method, e.g. "POST"
+ * @param url            request URL as passed to the helper
+ * @param route          matched handler pattern (e.g. "/api/users/{id}"), or the
+ *                       path without query string when no pattern was matched
+ * @param status         response status code
+ * @param wallNanos      elapsed wall-clock time
+ * @param cpuNanos       CPU time consumed by the executing thread
+ * @param allocatedBytes heap bytes allocated by the executing thread
+ */
+public record RequestMetrics(String method,
+                             String url,
+                             String route,
+                             int status,
+                             long wallNanos,
+                             long cpuNanos,
+                             long allocatedBytes) {
+
+    /** Grouping key used in reports, e.g. "GET /api/users/{id}" for any user id. */
+    public String endpoint() {
+        return method + " " + route;
+    }
+
+    /** The URL without query string or fragment, used as route when no handler pattern is known. */
+    public static String pathOf(String url) {
+        int end = url.length();
+        for (char c : new char[] { '?', '#' }) {
+            int index = url.indexOf(c);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        return url.substring(0, end);
+    }
+}
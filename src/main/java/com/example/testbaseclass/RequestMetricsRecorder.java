@@ -0,0 +1,249 @@
+package com.example.testbaseclass;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * ✅ RequestMetricsRecorder
+ * --------------------------------------------------------------------
+ * Measures allocated bytes and CPU time for each request on the executing
+ * thread (MockMvc runs the whole request on the caller's thread) and keeps
+ * per-endpoint aggregates (count, mean/max) for a suite-level report.
+ * Endpoints are keyed by the matched route pattern ("GET /api/users/{id}"),
+ * so requests for different ids share one row. Memory stays bounded however
+ * many requests run: past the endpoint limit, further endpoints are folded
+ * into a single "(other endpoints)" row.
+ *
+ * The report is printed and written as CSV when a test plan finishes
+ * ({@link RequestMetricsReportListener}, registered through META-INF/services).
+ * Controlled via system properties:
+ *   -Dtestbase.metrics.enabled=true/false     (default: true)
+ *   -Dtestbase.metrics.report=path.csv        (default: target/testbase-request-metrics-<fork>.csv,
+ *                                              where fork is surefire.forkNumber or the process id)
+ *   -Dtestbase.metrics.max-endpoints=N        (default: 500)
+ */
+public final class RequestMetricsRecorder {
+
+    /** Aggregated measurements of one endpoint; -1 means the JVM does not support that measurement. */
+    public record EndpointStats(String endpoint,
+                                long count,
+                                long totalWallNanos,
+                                long totalCpuNanos,
+                                long maxCpuNanos,
+                                long totalAllocatedBytes,
+                                long maxAllocatedBytes) {
+
+        public long meanWallNanos() {
+            return count == 0 ? 0 : totalWallNanos / count;
+        }
+
+        public long meanCpuNanos() {
+            return count == 0 ? 0 : totalCpuNanos / count;
+        }
+
+        public long meanAllocatedBytes() {
+            return count == 0 ? 0 : totalAllocatedBytes / count;
+        }
+    }
+
+    private static final String OTHER_ENDPOINTS = "(other endpoints)";
+
+    private static final ThreadMXBean THREADS = initThreadMXBean();
+    private static final int MAX_ENDPOINTS = Integer.getInteger("testbase.metrics.max-endpoints", 500);
+
+    private static final Map<String, Aggregate> AGGREGATES = new ConcurrentHashMap<>();
+    private static final AtomicLong REPORTED_REQUESTS = new AtomicLong();
+    private static final AtomicInteger SUSPENDED = new AtomicInteger();
+
+    private RequestMetricsRecorder() {
+    }
+
+    public static boolean isEnabled() {
+        return SUSPENDED.get() == 0 && Boolean.parseBoolean(System.getProperty("testbase.metrics.enabled", "true"));
+    }
+
+    /** Stop measuring until {@link #resume()}; calls nest. Used by {@link EnduranceRunner}. */
+    static void suspend() {
+        SUSPENDED.incrementAndGet();
+    }
+
+    static void resume() {
+        SUSPENDED.decrementAndGet();
+    }
+
+    /** Start measuring on the current thread. */
+    public static Probe start() {
+        return new Probe(System.nanoTime(), cpuTime(), allocatedBytes());
+    }
+
+    /** Per-endpoint aggregates recorded so far in this JVM, sorted by endpoint. */
+    public static List<EndpointStats> stats() {
+        List<EndpointStats> stats = new ArrayList<>();
+        AGGREGATES.forEach((endpoint, a) -> stats.add(a.snapshot(endpoint)));
+        stats.sort(Comparator.comparing(EndpointStats::endpoint));
+        return stats;
+    }
+
+    /** Forget all recorded requests. */
+    public static void reset() {
+        AGGREGATES.clear();
+        REPORTED_REQUESTS.set(0);
+    }
+
+    static void record(RequestMetrics metrics) {
+        String endpoint = metrics.endpoint();
+        Aggregate aggregate = AGGREGATES.get(endpoint);
+        if (aggregate == null) {
+            // size check is approximate under concurrency, which is enough to keep the map bounded
+            aggregate = AGGREGATES.computeIfAbsent(AGGREGATES.size() < MAX_ENDPOINTS ? endpoint : OTHER_ENDPOINTS,
+                    k -> new Aggregate());
+        }
+        aggregate.add(metrics);
+    }
+
+    /**
+     * Per-endpoint summary of everything recorded so far:
+     * request count, mean/max allocated bytes, mean/max CPU time.
+     */
+    public static String summary() {
+        List<EndpointStats> stats = stats();
+        long requests = stats.stream().mapToLong(EndpointStats::count).sum();
+
+        StringBuilder sb = new StringBuilder("\n[TESTBASE] Request resource usage (" + requests + " requests)\n");
+        sb.append(String.format("%-50s %6s %14s %14s %10s %10s%n",
+                "endpoint", "count", "alloc avg(B)", "alloc max(B)", "cpu avg(ms)", "cpu max(ms)"));
+        for (EndpointStats s : stats) {
+            sb.append(String.format("%-50s %6d %14d %14d %10.2f %10.2f%n",
+                    s.endpoint(), s.count(), s.meanAllocatedBytes(), s.maxAllocatedBytes(),
+                    s.meanCpuNanos() / 1e6, s.maxCpuNanos() / 1e6));
+        }
+        return sb.toString();
+    }
+
+    /** Distinguishes concurrent test JVMs: the surefire fork number when set, otherwise the process id. */
+    static String forkId() {
+        return System.getProperty("surefire.forkNumber", Long.toString(ProcessHandle.current().pid()));
+    }
+
+    public static Path reportFile() {
+        String configured = System.getProperty("testbase.metrics.report");
+        return Path.of(configured != null ? configured : "target/testbase-request-metrics-" + forkId() + ".csv");
+    }
+
+    /**
+     * Print the summary and (re)write the CSV with everything recorded so far.
+     * Does nothing when no request was recorded since the last report, so a
+     * fork that executes several test plans only reports new data.
+     */
+    static synchronized void writeReport() {
+        List<EndpointStats> stats = stats();
+        long requests = stats.stream().mapToLong(EndpointStats::count).sum();
+        if (requests == 0 || REPORTED_REQUESTS.getAndSet(requests) == requests) {
+            return;
+        }
+        System.out.println(summary());
+
+        Path report = reportFile();
+        try {
+            if (report.getParent() != null) {
+                Files.createDirectories(report.getParent());
+            }
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report, StandardCharsets.UTF_8))) {
+                out.println("endpoint,count,wallNanosAvg,cpuNanosAvg,cpuNanosMax,allocatedBytesAvg,allocatedBytesMax");
+                for (EndpointStats s : stats) {
+                    out.println(csv(s.endpoint()) + "," + s.count() + "," + s.meanWallNanos() + ","
+                            + s.meanCpuNanos() + "," + s.maxCpuNanos() + ","
+                            + s.meanAllocatedBytes() + "," + s.maxAllocatedBytes());
+                }
+            }
+            System.out.println("[TESTBASE] Request metrics written to " + report.toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("[TESTBASE] ⚠ Could not write request metrics: " + e.getMessage());
+        }
+    }
+
+    private static String csv(String value) {
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    private static ThreadMXBean initThreadMXBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean threads)) {
+            return null;
+        }
+        if (threads.isThreadAllocatedMemorySupported() && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        if (threads.isCurrentThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        return threads;
+    }
+
+    private static long cpuTime() {
+        return THREADS != null && THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null && THREADS.isThreadAllocatedMemorySupported() ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /** Readings taken at the start of a request; {@link #finish} computes the deltas. */
+    public static final class Probe {
+        private final long wallStart;
+        private final long cpuStart;
+        private final long allocStart;
+
+        private Probe(long wallStart, long cpuStart, long allocStart) {
+            this.wallStart = wallStart;
+            this.cpuStart = cpuStart;
+            this.allocStart = allocStart;
+        }
+
+        public RequestMetrics finish(String method, String url, String route, int status) {
+            long wall = System.nanoTime() - wallStart;
+            long cpu = cpuStart < 0 ? -1 : cpuTime() - cpuStart;
+            long alloc = allocStart < 0 ? -1 : allocatedBytes() - allocStart;
+            return new RequestMetrics(method, url, route != null ? route : RequestMetrics.pathOf(url), status,
+                    wall, cpu, alloc);
+        }
+    }
+
+    /** Running totals for one endpoint, updated without locking. */
+    private static final class Aggregate {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAccumulator maxCpuNanos = new LongAccumulator(Math::max, -1);
+        private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, -1);
+
+        void add(RequestMetrics m) {
+            count.increment();
+            wallNanos.add(m.wallNanos());
+            cpuNanos.add(m.cpuNanos());
+            allocatedBytes.add(m.allocatedBytes());
+            maxCpuNanos.accumulate(m.cpuNanos());
+            maxAllocatedBytes.accumulate(m.allocatedBytes());
+        }
+
+        EndpointStats snapshot(String endpoint) {
+            return new EndpointStats(endpoint, count.sum(), wallNanos.sum(), cpuNanos.sum(), maxCpuNanos.get(),
+                    allocatedBytes.sum(), maxAllocatedBytes.get());
+        }
+    }
+}
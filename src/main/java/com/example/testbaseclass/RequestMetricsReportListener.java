@@ -0,0 +1,26 @@
+package com.example.testbaseclass;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * ✅ RequestMetricsReportListener
+ * --------------------------------------------------------------------
+ * Writes the {@link RequestMetricsRecorder} summary and CSV when a test plan
+ * finishes. Registered automatically through META-INF/services, so the
+ * report is produced inside the test run rather than from a shutdown hook
+ * (whose output a surefire fork may lose).
+ *
+ * Skipped during {@link ParityReportRunner} runs, which read the recorder
+ * themselves and reset it between engines.
+ */
+public class RequestMetricsReportListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (Boolean.getBoolean("test.parity.enabled")) {
+            return;
+        }
+        RequestMetricsRecorder.writeReport();
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.testbaseclass;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIdentityReference;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ✅ RequestTemplate
+ * --------------------------------------------------------------------
+ * A request body serialized once into immutable JSON bytes, with optional
+ * "slots" for the top-level fields that change between calls.
+ *
+ * Rendering only serializes the slot values and stitches them between the
+ * pre-built byte segments, so repeated requests (load tests, parameterized
+ * tests) skip full body serialization entirely.
+ *
+ * Slot values are serialized by their own runtime type, so property-level
+ * settings of the body class cannot apply to them. To keep the bytes equal
+ * to what doPost would send, compile() rejects slots whose property carries
+ * serialization annotations (@JsonFormat, @JsonSerialize, ...), and render()
+ * rejects a null (or empty Optional) for a property that is omitted when
+ * null (@JsonInclude or the mapper's default inclusion).
+ *
+ * Example:
+ * RequestTemplate userTemplate = utils.template(new User("x", "x@mail"), "name");
+ * utils.doPostTemplate("/api/users", userTemplate, "Alice");
+ */
+public final class RequestTemplate {
+
+    private static final String SLOT_MARKER = "__testbase_slot_";
+
+    // change how a property's value is written, which a slot serialized by value type would miss
+    private static final List<Class<? extends Annotation>> PROPERTY_SERIALIZATION = List.of(
+            JsonFormat.class, JsonSerialize.class, JsonRawValue.class, JsonView.class,
+            JsonUnwrapped.class, JsonTypeInfo.class, JsonIdentityReference.class);
+
+    private final JsonWriterCache jsonWriters;
+    private final List<String> fields;
+    // segments.length == fields.length + 1; slotOrder[i] = field index of the i-th slot in the output
+    private final byte[][] segments;
+    private final int[] slotOrder;
+    private final boolean[] omittedWhenNull; // per field index
+    private final int fixedLength;
+
+    private RequestTemplate(JsonWriterCache jsonWriters, List<String> fields, byte[][] segments, int[] slotOrder,
+                            boolean[] omittedWhenNull) {
+        this.jsonWriters = jsonWriters;
+        this.fields = fields;
+        this.segments = segments;
+        this.slotOrder = slotOrder;
+        this.omittedWhenNull = omittedWhenNull;
+        int length = 0;
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        this.fixedLength = length;
+    }
+
+    /**
+     * Pre-serialize a body. Each name in {@code varyingFields} must be a
+     * top-level field of the body; its value is supplied at render time.
+     */
+    static RequestTemplate compile(JsonWriterCache jsonWriters, Object body, String... varyingFields) throws Exception {
+        List<String> fields = List.of(varyingFields);
+        if (fields.isEmpty()) {
+            return new RequestTemplate(jsonWriters, fields, new byte[][] { jsonWriters.write(body) }, new int[0],
+                    new boolean[0]);
+        }
+
+        boolean[] omittedWhenNull = checkSlotProperties(jsonWriters.getObjectMapper(), body, fields);
+        JsonNode tree = jsonWriters.getObjectMapper().valueToTree(body);
+        if (!(tree instanceof ObjectNode node)) {
+            throw new IllegalArgumentException("❌ Varying fields require a JSON object body but got: " + tree.getNodeType());
+        }
+        ObjectNode objectNode = node.deepCopy(); // never mutate a caller-supplied node
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            if (!objectNode.has(field)) {
+                throw new IllegalArgumentException("❌ Field '" + field + "' not found in template body: " + objectNode);
+            }
+            objectNode.put(field, SLOT_MARKER + i + "__");
+        }
+
+        // ISO-8859-1 maps bytes 1:1 to chars, so string offsets are byte offsets
+        byte[] json = jsonWriters.write(objectNode);
+        String text = new String(json, StandardCharsets.ISO_8859_1);
+
+        List<int[]> slots = new ArrayList<>(); // {start, end, fieldIndex}
+        for (int i = 0; i < fields.size(); i++) {
+            String quoted = "\"" + SLOT_MARKER + i + "__\"";
+            int start = text.indexOf(quoted);
+            slots.add(new int[] { start, start + quoted.length(), i });
+        }
+        slots.sort(Comparator.comparingInt(slot -> slot[0]));
+
+        byte[][] segments = new byte[fields.size() + 1][];
+        int[] slotOrder = new int[fields.size()];
+        int cursor = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            int[] slot = slots.get(i);
+            segments[i] = Arrays.copyOfRange(json, cursor, slot[0]);
+            slotOrder[i] = slot[2];
+            cursor = slot[1];
+        }
+        segments[fields.size()] = Arrays.copyOfRange(json, cursor, json.length);
+
+        return new RequestTemplate(jsonWriters, fields, segments, slotOrder, omittedWhenNull);
+    }
+
+    /**
+     * Reject slots whose bean property would be written differently from its
+     * value type, and report which ones Jackson omits when null.
+     */
+    private static boolean[] checkSlotProperties(ObjectMapper objectMapper, Object body, List<String> fields) {
+        boolean[] omittedWhenNull = new boolean[fields.size()];
+        if (body instanceof Map || body instanceof JsonNode) {
+            return omittedWhenNull; // no bean properties; map entries are written by value type
+        }
+
+        SerializationConfig config = objectMapper.getSerializationConfig();
+        BeanDescription description = config.introspect(objectMapper.constructType(body.getClass()));
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            int index = fields.indexOf(property.getName());
+            AnnotatedMember accessor = property.getAccessor();
+            if (index < 0 || accessor == null) {
+                continue;
+            }
+            for (Class<? extends Annotation> annotation : PROPERTY_SERIALIZATION) {
+                // field and getter annotations are merged onto the accessor
+                if (accessor.hasAnnotation(annotation)) {
+                    throw new IllegalArgumentException("❌ Field '" + property.getName() + "' has @"
+                            + annotation.getSimpleName() + " and cannot be a template slot — use doPost/doPut");
+                }
+            }
+
+            JsonInclude.Include inclusion = description
+                    .findPropertyInclusion(config.getDefaultInclusion(body.getClass(), accessor.getRawType()))
+                    .withOverrides(property.findInclusion())
+                    .getValueInclusion();
+            if (inclusion == JsonInclude.Include.NON_NULL || inclusion == JsonInclude.Include.NON_ABSENT) {
+                omittedWhenNull[index] = true;
+            } else if (inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.USE_DEFAULTS) {
+                throw new IllegalArgumentException("❌ Field '" + property.getName() + "' uses JsonInclude."
+                        + inclusion + " and cannot be a template slot — use doPost/doPut");
+            }
+        }
+        return omittedWhenNull;
+    }
+
+    /**
+     * Render the body with values given in the same order as the varying fields.
+     * A template without varying fields returns the same shared array on every
+     * call — treat it as read-only.
+     */
+    public byte[] render(Object... values) throws Exception {
+        if (values.length != fields.size()) {
+            throw new IllegalArgumentException("❌ Expected " + fields.size() + " value(s) for " + fields
+                    + " but got " + values.length);
+        }
+        if (values.length == 0) {
+            return segments[0];
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            boolean absent = values[i] == null || (values[i] instanceof Optional<?> optional && optional.isEmpty());
+            if (absent && omittedWhenNull[i]) {
+                throw new IllegalArgumentException("❌ Field '" + fields.get(i)
+                        + "' is omitted from the body when null, which a template cannot do — use doPost/doPut");
+            }
+        }
+
+        byte[][] rendered = new byte[values.length][];
+        int length = fixedLength;
+        for (int i = 0; i < values.length; i++) {
+            rendered[i] = jsonWriters.write(values[slotOrder[i]]);
+            length += rendered[i].length;
+        }
+
+        byte[] out = new byte[length];
+        int pos = 0;
+        for (int i = 0; i < rendered.length; i++) {
+            System.arraycopy(segments[i], 0, out, pos, segments[i].length);
+            pos += segments[i].length;
+            System.arraycopy(rendered[i], 0, out, pos, rendered[i].length);
+            pos += rendered[i].length;
+        }
+        byte[] tail = segments[rendered.length];
+        System.arraycopy(tail, 0, out, pos, tail.length);
+        return out;
+    }
+
+    /** Render the body with values looked up by field name. */
+    public byte[] renderNamed(Map<String, ?> values) throws Exception {
+        Object[] ordered = new Object[fields.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            String field = fields.get(i);
+            if (!values.containsKey(field)) {
+                throw new IllegalArgumentException("❌ Missing value for template field '" + field + "'");
+            }
+            ordered[i] = values.get(field);
+        }
+        return render(ordered);
+    }
+
+    /** The varying field names, in the order {@link #render(Object...)} expects values. */
+    public List<String> getFields() {
+        return fields;
+    }
+}
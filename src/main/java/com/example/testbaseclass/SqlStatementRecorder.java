@@ -0,0 +1,226 @@
+package com.example.testbaseclass;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ✅ SqlStatementRecorder
+ * --------------------------------------------------------------------
+ * Records the distinct SQL statements issued through a wrapped DataSource,
+ * together with the bound parameters of their first execution and the
+ * endpoint (e.g. "GET /api/users") being requested at the time.
+ *
+ * TestRequestUtils marks the current endpoint around every request; SQL
+ * issued outside a request (fixture loading, repositories called directly
+ * from a test) is recorded with a null endpoint.
+ *
+ * It also accumulates execution count and time per SQL text for
+ * {@link ParityReportRunner}; those timings survive the per-test reset.
+ * Recording is suspended while an {@link EnduranceRunner} replays requests.
+ *
+ * Enabled by TestDatabaseConfig when test.queryplan.enabled=true
+ * (test-container) or test.parity.enabled=true (both engines); the
+ * recorded statements are analyzed by {@link QueryPlanInspector}.
+ */
+public final class SqlStatementRecorder {
+
+    /** A distinct statement as first seen for an endpoint. */
+    public record RecordedStatement(String endpoint, String sql, List<Object> parameters) {
+    }
+
+    /** Accumulated executions of one SQL text. */
+    public record StatementTiming(String sql, long executions, long totalNanos) {
+        public long meanNanos() {
+            return executions == 0 ? 0 : totalNanos / executions;
+        }
+    }
+
+    private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+    private static final Map<String, RecordedStatement> STATEMENTS = Collections.synchronizedMap(new LinkedHashMap<>());
+    private static final Map<String, LongAdder[]> TIMINGS = new ConcurrentHashMap<>(); // sql -> {executions, nanos}
+    private static final AtomicInteger SUSPENDED = new AtomicInteger();
+
+    private SqlStatementRecorder() {
+    }
+
+    /** Wrap a DataSource so every statement executed through it is recorded. */
+    public static DataSource wrap(DataSource target) {
+        return new RecordingDataSource(target);
+    }
+
+    /** The underlying DataSource, bypassing recording (used to run EXPLAIN). */
+    public static DataSource unwrap(DataSource dataSource) {
+        return dataSource instanceof RecordingDataSource recording ? recording.getTargetDataSource() : dataSource;
+    }
+
+    public static boolean isRecording(DataSource dataSource) {
+        return dataSource instanceof RecordingDataSource;
+    }
+
+    static void setCurrentEndpoint(String endpoint) {
+        CURRENT_ENDPOINT.set(endpoint);
+    }
+
+    static void clearCurrentEndpoint() {
+        CURRENT_ENDPOINT.remove();
+    }
+
+    /** Stop recording statements and timings until {@link #resume()}; calls nest. */
+    static void suspend() {
+        SUSPENDED.incrementAndGet();
+    }
+
+    static void resume() {
+        SUSPENDED.decrementAndGet();
+    }
+
+    /** Distinct statements recorded since the last reset, in first-seen order. */
+    public static List<RecordedStatement> statements() {
+        synchronized (STATEMENTS) {
+            return new ArrayList<>(STATEMENTS.values());
+        }
+    }
+
+    /** Forget all recorded statements (called before each test). */
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    /** Execution count and time per SQL text since the last {@link #resetTimings()}. */
+    public static List<StatementTiming> timings() {
+        List<StatementTiming> timings = new ArrayList<>();
+        TIMINGS.forEach((sql, t) -> timings.add(new StatementTiming(sql, t[0].sum(), t[1].sum())));
+        return timings;
+    }
+
+    public static void resetTimings() {
+        TIMINGS.clear();
+    }
+
+    private static void record(String sql, Map<Integer, Object> parameters) {
+        if (SUSPENDED.get() > 0) {
+            return;
+        }
+        String endpoint = CURRENT_ENDPOINT.get();
+        STATEMENTS.computeIfAbsent(endpoint + "\n" + sql,
+                k -> new RecordedStatement(endpoint, sql, new ArrayList<>(parameters.values())));
+    }
+
+    private static void time(String sql, long nanos) {
+        if (SUSPENDED.get() > 0) {
+            return;
+        }
+        LongAdder[] t = TIMINGS.computeIfAbsent(sql, k -> new LongAdder[] { new LongAdder(), new LongAdder() });
+        t[0].increment();
+        t[1].add(nanos);
+    }
+
+    // -------------------------------------------------------
+    // 🔹 JDBC proxies
+    // -------------------------------------------------------
+
+    private static final class RecordingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+        }
+
+        /** Lets the context close the wrapped pool / embedded database on shutdown. */
+        @Override
+        public void close() throws Exception {
+            if (getTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            } else if (getTargetDataSource() instanceof EmbeddedDatabase embedded) {
+                embedded.shutdown();
+            }
+        }
+    }
+
+    /** Hands out recording statements; prepared statements remember their SQL. */
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            String name = method.getName();
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                String sql = (name.equals("prepareStatement") || name.equals("prepareCall")) ? (String) args[0] : null;
+                return proxy(method.getReturnType(), new StatementHandler(statement, sql, new TreeMap<>()));
+            }
+            return result;
+        }
+    }
+
+    /** Captures bound parameters, records the statement and times its execution. */
+    private record StatementHandler(Statement target, String preparedSql, Map<Integer, Object> parameters)
+            implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            boolean execute = name.startsWith("execute") || name.equals("addBatch");
+
+            String sql = null;
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (execute && args != null && args.length >= 1 && args[0] instanceof String plainSql) {
+                record(plainSql, Map.of());
+                sql = plainSql;
+            } else if (execute && preparedSql != null) {
+                record(preparedSql, parameters);
+                sql = preparedSql;
+            }
+
+            if (sql == null || name.equals("addBatch")) {
+                return invokeTarget(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                time(sql, System.nanoTime() - start);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatementRecorder.class.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -114,9 +114,11 @@ package com.example.testbaseclass;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 
+import java.io.File;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -131,6 +133,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 /**
  * Generic reusable data loader that supports loading JSON and SQL test data.
  * Works automatically in any Spring Boot test context that includes this library.
+ *
+ * When a compiled fixture ({@link TestFixtureCompiler}) sits next to the text
+ * file and is up to date, it is memory-mapped instead of parsing the text.
  */
 
 @Component
@@ -172,14 +177,17 @@ public class TestDataLoader {
                 return;
             }
 
-            String sql = asString(resource);
-            for (String stmt : sql.split(";")) {
-                String trimmed = stmt.trim();
-                if (!trimmed.isEmpty()) {
-                    jdbcTemplate.execute(trimmed);
-                }
+            File source = sourceFile(resource);
+            List<String> statements = source != null ? TestFixtureCompiler.readSql(source) : null;
+            boolean compiled = statements != null;
+            if (!compiled) {
+                statements = TestFixtureCompiler.splitSql(asString(resource));
+            }
+
+            for (String stmt : statements) {
+                jdbcTemplate.execute(stmt);
             }
-            System.out.println("Executed SQL data file from: " + path);
+            System.out.println("Executed SQL data file from: " + path + (compiled ? " (compiled)" : ""));
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to load SQL data from " + path, e);
@@ -197,30 +205,33 @@ public class TestDataLoader {
                 return List.of();
             }
 
-            String json = asString(resource);
-
-            List<Map<String, Object>> list = objectMapper.readValue(
-                    json,
-                    new TypeReference<>() {}
-            );
+            File source = sourceFile(resource);
+            List<Map<String, Object>> list = source != null ? TestFixtureCompiler.readJson(source, objectMapper) : null;
+            boolean compiled = list != null;
+            if (!compiled) {
+                list = objectMapper.readValue(
+                        asString(resource),
+                        new TypeReference<>() {}
+                );
+            }
 
-            System.out.println("Loaded json data from: " + path + " (" + list.size() + " records)");
+            System.out.println("Loaded json data from: " + path + " (" + list.size() + " records"
+                    + (compiled ? ", compiled" : "") + ")");
 
             // 🔥 Insert into DB ONLY if JdbcTemplate is available
             if (jdbcTemplate != null) {
+                List<Object[]> batch = new ArrayList<>();
                 for (Map<String, Object> row : list) {
 
                     // Only insert rows having "description" field for orders
                     if (row.containsKey("description")) {
-
-                        jdbcTemplate.update(
-                            "INSERT INTO orders (description) VALUES (?)",
-                            row.get("description")
-                        );
-
-                        System.out.println("Inserted JSON row into 'orders': " + row.get("description"));
+                        batch.add(new Object[] { row.get("description") });
                     }
                 }
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate("INSERT INTO orders (description) VALUES (?)", batch);
+                    System.out.println("Inserted " + batch.size() + " JSON rows into 'orders'");
+                }
             }
 
             return list;
@@ -230,6 +241,15 @@ public class TestDataLoader {
         }
     }
 
+    /** The fixture as a plain file, or null when it lives inside a jar and cannot be mapped. */
+    private File sourceFile(Resource resource) {
+        try {
+            return resource.isFile() ? resource.getFile() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     private String asString(Resource resource) throws Exception {
         try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
             return FileCopyUtils.copyToString(reader);
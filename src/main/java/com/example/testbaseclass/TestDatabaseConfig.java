@@ -2,11 +2,15 @@ package com.example.testbaseclass;
 
 import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 // import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.env.Environment;
 import org.testcontainers.containers.PostgreSQLContainer;
 
@@ -21,6 +25,14 @@ public class TestDatabaseConfig {
     @Value("${test.profile:test-local}")
     private String testProfile;
 
+    // opt-in: record SQL for EXPLAIN analysis (see QueryPlanInspector)
+    @Value("${test.queryplan.enabled:false}")
+    private boolean queryPlanEnabled;
+
+    // set by ParityReportRunner: time statements on both engines
+    @Value("${test.parity.enabled:false}")
+    private boolean parityEnabled;
+
     private static PostgreSQLContainer<?> postgresContainer;
 
     @Bean
@@ -41,13 +53,25 @@ public class TestDatabaseConfig {
             ds.setUsername(postgresContainer.getUsername());
             ds.setPassword(postgresContainer.getPassword());
             ds.setDriverClassName(postgresContainer.getDriverClassName());
-            return ds;
+            return queryPlanEnabled || parityEnabled ? SqlStatementRecorder.wrap(ds) : ds;
         } else {
             // default: embedded H2 DB
-            return new EmbeddedDatabaseBuilder()
+            DataSource ds = new EmbeddedDatabaseBuilder()
                     .setType(EmbeddedDatabaseType.H2)
                     .setName("testdb")
                     .build();
+            return parityEnabled ? SqlStatementRecorder.wrap(ds) : ds;
         }
     }
+
+    // lets ParityReportRunner close this context before switching engines
+    @Bean
+    @ConditionalOnProperty(name = "test.parity.enabled", havingValue = "true")
+    public ApplicationListener<ContextRefreshedEvent> parityContextTracker() {
+        return event -> {
+            if (event.getApplicationContext() instanceof ConfigurableApplicationContext context) {
+                ParityReportRunner.track(context);
+            }
+        };
+    }
 }
@@ -0,0 +1,355 @@
+package com.example.testbaseclass;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ TestFixtureCompiler
+ * --------------------------------------------------------------------
+ * Compiles text fixtures in a data folder ({@code *.json}, {@code *.sql})
+ * into a compact binary, column-typed format next to each source file
+ * ({@code data.json} → {@code data.json.tbf}).
+ *
+ * Run at build time in the consuming project (exec-maven-plugin, see README):
+ *   java com.example.testbaseclass.TestFixtureCompiler target/test-classes/data
+ *
+ * {@link TestDataLoader} memory-maps the compiled file and skips text parsing.
+ * Each compiled file records the source size and modification time; when they
+ * no longer match, or the file is truncated or corrupt, the loader falls back
+ * to the text file.
+ *
+ * Numbers are stored exactly (decimals as their literal text) and converted on
+ * read according to the caller's ObjectMapper, so compiled rows carry the same
+ * value types as text rows parsed with that mapper (e.g. BigDecimal when
+ * USE_BIG_DECIMAL_FOR_FLOATS is enabled).
+ *
+ * Layout (big-endian):
+ *   int magic, short version, byte kind, long sourceLength, long sourceLastModified
+ *   SQL : int count, then count strings
+ *   JSON: int columns, then (string name, byte type) per column,
+ *         int rows, then per row and column a presence byte and the typed value
+ * Strings are stored as an int char count followed by UTF-16 chars.
+ */
+public final class TestFixtureCompiler {
+
+    public static final String SUFFIX = ".tbf";
+
+    private static final int MAGIC = 0x54424658; // "TBFX"
+    private static final short VERSION = 2;
+
+    private static final byte KIND_SQL = 1;
+    private static final byte KIND_JSON = 2;
+
+    private static final byte TYPE_LONG = 1;
+    private static final byte TYPE_DECIMAL = 2; // literal text, converted on read
+    private static final byte TYPE_BOOLEAN = 3;
+    private static final byte TYPE_STRING = 4;
+    private static final byte TYPE_JSON = 5; // nested or mixed values, kept as JSON text
+
+    private static final byte CELL_ABSENT = 0;
+    private static final byte CELL_NULL = 1;
+    private static final byte CELL_VALUE = 2;
+
+    // decimals as BigDecimal so the literal survives compilation; big integers fall to TYPE_JSON
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private TestFixtureCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: TestFixtureCompiler <data-directory>");
+            return;
+        }
+        File dir = new File(args[0]);
+        File[] sources = dir.listFiles((d, name) -> name.endsWith(".json") || name.endsWith(".sql"));
+        if (sources == null) {
+            System.out.println("No fixture directory at " + dir + " — nothing to compile");
+            return;
+        }
+        for (File source : sources) {
+            compile(source);
+        }
+    }
+
+    /**
+     * Compile one fixture file. Returns false when the file cannot be
+     * represented (e.g. JSON that is not an array of objects).
+     */
+    public static boolean compile(File source) throws IOException {
+        String text = Files.readString(source.toPath(), StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            if (source.getName().endsWith(".sql")) {
+                out.writeByte(KIND_SQL);
+                writeHeader(out, source);
+                writeSql(out, splitSql(text));
+            } else {
+                List<Map<String, Object>> rows;
+                try {
+                    rows = MAPPER.readValue(text, new TypeReference<>() {});
+                } catch (Exception e) {
+                    System.out.println("⚠️ Skipping " + source + " (not a JSON array of objects): " + e.getMessage());
+                    return false;
+                }
+                out.writeByte(KIND_JSON);
+                writeHeader(out, source);
+                writeJson(out, rows);
+            }
+        }
+
+        Files.write(compiledFile(source).toPath(), bytes.toByteArray());
+        System.out.println("Compiled fixture " + source.getName() + " → " + compiledFile(source).getName());
+        return true;
+    }
+
+    /**
+     * Read the compiled form of an SQL fixture, or null if it is missing, stale or corrupt.
+     */
+    public static List<String> readSql(File source) throws IOException {
+        MappedByteBuffer buf = map(source, KIND_SQL);
+        if (buf == null) {
+            return null;
+        }
+        try {
+            int count = buf.getInt();
+            List<String> statements = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                statements.add(readString(buf));
+            }
+            return statements;
+        } catch (RuntimeException e) {
+            return corrupt(source, e);
+        }
+    }
+
+    /**
+     * Read the compiled form of a JSON fixture, or null if it is missing, stale or corrupt.
+     */
+    public static List<Map<String, Object>> readJson(File source, ObjectMapper objectMapper) throws IOException {
+        MappedByteBuffer buf = map(source, KIND_JSON);
+        if (buf == null) {
+            return null;
+        }
+        try {
+            return readRows(buf, objectMapper);
+        } catch (RuntimeException | IOException e) {
+            return corrupt(source, e);
+        }
+    }
+
+    private static List<Map<String, Object>> readRows(MappedByteBuffer buf, ObjectMapper objectMapper)
+            throws IOException {
+        int columns = buf.getInt();
+        String[] names = new String[columns];
+        byte[] types = new byte[columns];
+        for (int c = 0; c < columns; c++) {
+            names[c] = readString(buf);
+            types[c] = buf.get();
+        }
+
+        int rowCount = buf.getInt();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int r = 0; r < rowCount; r++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int c = 0; c < columns; c++) {
+                byte cell = buf.get();
+                if (cell == CELL_NULL) {
+                    row.put(names[c], null);
+                } else if (cell == CELL_VALUE) {
+                    row.put(names[c], readValue(buf, types[c], objectMapper));
+                } else if (cell != CELL_ABSENT) {
+                    throw new IllegalStateException("unknown cell marker " + cell);
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /** Split SQL text into trimmed, non-empty statements (same rule as the text loader). */
+    public static List<String> splitSql(String sql) {
+        List<String> statements = new ArrayList<>();
+        for (String stmt : sql.split(";")) {
+            String trimmed = stmt.trim();
+            if (!trimmed.isEmpty()) {
+                statements.add(trimmed);
+            }
+        }
+        return statements;
+    }
+
+    public static File compiledFile(File source) {
+        return new File(source.getParentFile(), source.getName() + SUFFIX);
+    }
+
+    // -------------------------------------------------------
+    // 🔹 Writing
+    // -------------------------------------------------------
+
+    private static void writeHeader(DataOutputStream out, File source) throws IOException {
+        out.writeLong(source.length());
+        out.writeLong(source.lastModified());
+    }
+
+    private static void writeSql(DataOutputStream out, List<String> statements) throws IOException {
+        out.writeInt(statements.size());
+        for (String statement : statements) {
+            writeString(out, statement);
+        }
+    }
+
+    private static void writeJson(DataOutputStream out, List<Map<String, Object>> rows) throws IOException {
+        // columns in order of first appearance, each with a single storage type
+        Map<String, Byte> columns = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            for (Map.Entry<String, Object> entry : row.entrySet()) {
+                Byte current = columns.get(entry.getKey());
+                Object value = entry.getValue();
+                if (value == null) {
+                    columns.putIfAbsent(entry.getKey(), null);
+                    continue;
+                }
+                byte type = typeOf(value);
+                columns.put(entry.getKey(), current == null || current == type ? type : TYPE_JSON);
+            }
+        }
+
+        out.writeInt(columns.size());
+        for (Map.Entry<String, Byte> column : columns.entrySet()) {
+            writeString(out, column.getKey());
+            out.writeByte(column.getValue() == null ? TYPE_JSON : column.getValue());
+        }
+
+        out.writeInt(rows.size());
+        for (Map<String, Object> row : rows) {
+            for (Map.Entry<String, Byte> column : columns.entrySet()) {
+                if (!row.containsKey(column.getKey())) {
+                    out.writeByte(CELL_ABSENT);
+                    continue;
+                }
+                Object value = row.get(column.getKey());
+                if (value == null) {
+                    out.writeByte(CELL_NULL);
+                    continue;
+                }
+                out.writeByte(CELL_VALUE);
+                writeValue(out, column.getValue(), value);
+            }
+        }
+    }
+
+    private static byte typeOf(Object value) {
+        if (value instanceof Integer || value instanceof Long) return TYPE_LONG;
+        if (value instanceof BigDecimal) return TYPE_DECIMAL;
+        if (value instanceof Boolean) return TYPE_BOOLEAN;
+        if (value instanceof String) return TYPE_STRING;
+        return TYPE_JSON;
+    }
+
+    private static void writeValue(DataOutputStream out, byte type, Object value) throws IOException {
+        switch (type) {
+            case TYPE_LONG -> out.writeLong(((Number) value).longValue());
+            case TYPE_DECIMAL -> writeString(out, value.toString());
+            case TYPE_BOOLEAN -> out.writeBoolean((Boolean) value);
+            case TYPE_STRING -> writeString(out, (String) value);
+            default -> writeString(out, MAPPER.writeValueAsString(value));
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeInt(value.length());
+        out.writeChars(value);
+    }
+
+    // -------------------------------------------------------
+    // 🔹 Reading
+    // -------------------------------------------------------
+
+    /** Map the compiled file read-only and position after the header, or return null if unusable. */
+    private static MappedByteBuffer map(File source, byte expectedKind) throws IOException {
+        File compiled = compiledFile(source);
+        if (!compiled.isFile()) {
+            return null;
+        }
+
+        MappedByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(compiled.toPath(), StandardOpenOption.READ)) {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buf.remaining() < 23
+                || buf.getInt() != MAGIC
+                || buf.getShort() != VERSION
+                || buf.get() != expectedKind
+                || buf.getLong() != source.length()
+                || buf.getLong() != source.lastModified()) {
+            System.out.println("⚠️ Compiled fixture " + compiled.getName() + " is stale — using text source");
+            return null;
+        }
+        return buf;
+    }
+
+    /** Fall back to the text source when the compiled file is truncated or malformed. */
+    private static <T> T corrupt(File source, Exception e) {
+        System.out.println("⚠️ Compiled fixture " + compiledFile(source).getName()
+                + " is corrupt (" + e + ") — using text source");
+        return null;
+    }
+
+    /** Convert stored numbers the way the given mapper would when parsing the text fixture. */
+    private static Object readValue(MappedByteBuffer buf, byte type, ObjectMapper objectMapper) throws IOException {
+        return switch (type) {
+            case TYPE_LONG -> {
+                long value = buf.getLong();
+                if (objectMapper.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS)) {
+                    yield BigInteger.valueOf(value);
+                }
+                // Jackson's default: Integer when it fits, Long otherwise
+                boolean asLong = objectMapper.isEnabled(DeserializationFeature.USE_LONG_FOR_INTS) || value != (int) value;
+                yield asLong ? (Object) value : (Object) (int) value;
+            }
+            case TYPE_DECIMAL -> {
+                String literal = readString(buf);
+                yield objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                        ? (Object) new BigDecimal(literal) : (Object) Double.parseDouble(literal);
+            }
+            case TYPE_BOOLEAN -> buf.get() != 0;
+            case TYPE_STRING -> readString(buf);
+            default -> objectMapper.readValue(readString(buf), Object.class);
+        };
+    }
+
+    private static String readString(MappedByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0 || length > buf.remaining() / 2) {
+            throw new BufferUnderflowException();
+        }
+        char[] chars = new char[length];
+        buf.asCharBuffer().get(chars);
+        buf.position(buf.position() + length * 2);
+        return new String(chars);
+    }
+}
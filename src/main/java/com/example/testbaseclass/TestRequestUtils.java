@@ -5,9 +5,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.HandlerMapping;
 
 //import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -29,10 +34,12 @@ public class TestRequestUtils {
 
     private final MockMvc mockMvc;
     private final ObjectMapper objectMapper;
+    private final JsonWriterCache jsonWriters;
 
     public TestRequestUtils(MockMvc mockMvc, ObjectMapper objectMapper) {
         this.mockMvc = mockMvc;
         this.objectMapper = objectMapper;
+        this.jsonWriters = new JsonWriterCache(objectMapper);
     }
 
     // -------------------------------------------------------
@@ -81,17 +88,29 @@ public class TestRequestUtils {
 
     //new post
     public MvcResult doPost(String url,Object body) throws Exception{
+        return doPostContent(url, jsonWriters.write(body));
+    }
+
+    /**
+     * POST helper for a pre-serialized {@link RequestTemplate}; only the varying
+     * field values are serialized per call.
+     */
+    public MvcResult doPostTemplate(String url, RequestTemplate template, Object... values) throws Exception {
+        return doPostContent(url, template.render(values));
+    }
+
+    private MvcResult doPostContent(String url, byte[] json) throws Exception {
 
           if (url == null || !url.startsWith("/")) {
         throw new IllegalArgumentException("❌ Invalid URL: '" + url + "'. Must start with '/' (e.g. '/api/users').");
     }
 
-    logRequest("POST", url, body);
+    logRequest("POST", url, json);
          var request = post(url)
             .contentType(MediaType.APPLICATION_JSON)
-            .content(objectMapper.writeValueAsString(body));
+            .content(json);
 
-        var result = mockMvc.perform(request).andReturn();
+        var result = perform("POST", url, request).andReturn();
     logResponse(result);
 
         int status=result.getResponse().getStatus();
@@ -143,7 +162,7 @@ public class TestRequestUtils {
      */
     public MvcResult doGet(String url) throws Exception {
        logRequest("GET", url, null);
-            var result= mockMvc.perform(get(url))
+            var result= perform("GET", url, get(url))
                     .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk()) // ✅ Optional safety
                     .andReturn();
         logResponse(result);    
@@ -154,7 +173,7 @@ public class TestRequestUtils {
      * Generic DELETE helper returning MvcResult.
      */
     public MvcResult doDelete(String url) throws Exception {
-        return mockMvc.perform(delete(url))
+        return perform("DELETE", url, delete(url))
                 .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isNoContent()) // ✅ Optional safety
                 .andReturn();
     }
@@ -163,13 +182,36 @@ public class TestRequestUtils {
      * Generic PUT helper returning MvcResult.
      */
     public MvcResult doPut(String url, Object body) throws Exception {
-        return mockMvc.perform(put(url)
+        return doPutContent(url, jsonWriters.write(body));
+    }
+
+    /**
+     * PUT helper for a pre-serialized {@link RequestTemplate}.
+     */
+    public MvcResult doPutTemplate(String url, RequestTemplate template, Object... values) throws Exception {
+        return doPutContent(url, template.render(values));
+    }
+
+    private MvcResult doPutContent(String url, byte[] json) throws Exception {
+        return perform("PUT", url, put(url)
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(body)))
+                        .content(json))
                 .andExpect(org.springframework.test.web.servlet.result.MockMvcResultMatchers.status().isOk())
                 .andReturn();
     }
 
+    /**
+     * Pre-serialize a request body once for repeated use.
+     * The named top-level fields stay as slots filled in on each call.
+     *
+     * Example:
+     * var tpl = utils.template(new User("x", "x@mail"), "name", "email");
+     * utils.doPostTemplate("/api/users", tpl, "Alice", "alice@mail");
+     */
+    public RequestTemplate template(Object body, String... varyingFields) throws Exception {
+        return RequestTemplate.compile(jsonWriters, body, varyingFields);
+    }
+
     // -------------------------------------------------------
     // 🔹 Response Parsing Utilities
     // -------------------------------------------------------
@@ -227,9 +269,9 @@ public class TestRequestUtils {
         default -> throw new IllegalArgumentException("Unsupported HTTP method: " + method);
     };
 
-    return mockMvc.perform(request
+    return perform(method.toUpperCase(), url, request
                     .contentType(MediaType.APPLICATION_JSON)
-                    .content(body != null ? objectMapper.writeValueAsString(body) : ""))
+                    .content(body != null ? jsonWriters.write(body) : new byte[0]))
             .andExpect(status().is(expectedStatus))
             .andReturn();
 }
@@ -393,19 +435,15 @@ private void log(String message) {
     }
 }
 
-/** Logs outgoing request details */
-private void logRequest(String method, String url, Object body) {
+/** Logs outgoing request details (body is logged as the already-serialized JSON, without re-parsing) */
+private void logRequest(String method, String url, byte[] body) {
+    if (!loggingEnabled) {
+        return;
+    }
     log("\n[TESTBASE] ▶ " + method.toUpperCase() + " " + url);
 
     if (body != null) {
-        try {
-            String json = objectMapper
-                    .writerWithDefaultPrettyPrinter()
-                    .writeValueAsString(body);
-            log("[TESTBASE] Request Body:\n" + json);
-        } catch (Exception e) {
-            log("[TESTBASE] ⚠ Could not serialize request body: " + e.getMessage());
-        }
+        log("[TESTBASE] Request Body:\n" + new String(body, StandardCharsets.UTF_8));
     }
 }
 
@@ -437,6 +475,83 @@ private void logResponse(MvcResult result) {
     }
 }
 
+/*
+ * -------------------------------------------------------
+ * 📈 Per-Request Allocation & CPU Accounting
+ * -------------------------------------------------------
+ * Every helper request is measured on the executing thread; the
+ * measurement is attached to the MvcResult as a request attribute and
+ * collected for the suite report (see RequestMetricsRecorder).
+ * Controlled via system property: -Dtestbase.metrics.enabled=true/false
+ */
+public static final String METRICS_ATTRIBUTE = "testbase.requestMetrics";
+
+/**
+ * Performs the request, measuring allocation and CPU time when metrics are enabled.
+ * SQL issued while the request runs is attributed to "METHOD url" (see SqlStatementRecorder).
+ */
+private ResultActions perform(String method, String url, RequestBuilder request) throws Exception {
+    SqlStatementRecorder.setCurrentEndpoint(method + " " + url);
+    try {
+        if (!RequestMetricsRecorder.isEnabled()) {
+            return mockMvc.perform(request);
+        }
+        return performMeasured(method, url, request);
+    } finally {
+        SqlStatementRecorder.clearCurrentEndpoint();
+    }
+}
+
+private ResultActions performMeasured(String method, String url, RequestBuilder request) throws Exception {
+    RequestMetricsRecorder.Probe probe = RequestMetricsRecorder.start();
+    ResultActions actions = mockMvc.perform(request);
+    MvcResult result = actions.andReturn();
+    // group by route pattern ("/api/users/{id}") so per-id URLs do not become separate endpoints
+    Object pattern = result.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    RequestMetrics metrics = probe.finish(method, url, pattern instanceof String route ? route : null,
+            result.getResponse().getStatus());
+
+    result.getRequest().setAttribute(METRICS_ATTRIBUTE, metrics);
+    RequestMetricsRecorder.record(metrics);
+    return actions;
+}
+
+/** Resource usage measured for the request that produced this result */
+public RequestMetrics metricsOf(MvcResult result) {
+    Object metrics = result.getRequest().getAttribute(METRICS_ATTRIBUTE);
+    if (!(metrics instanceof RequestMetrics requestMetrics)) {
+        throw new AssertionError("❌ No request metrics attached to result. "
+                + "Was it produced by a TestRequestUtils helper with testbase.metrics.enabled=true?");
+    }
+    return requestMetrics;
+}
+
+/** Assert the request allocated fewer than maxBytes on the executing thread */
+public void assertAllocatedBelow(MvcResult result, long maxBytes) {
+    RequestMetrics metrics = metricsOf(result);
+    if (metrics.allocatedBytes() < 0) {
+        log("[TESTBASE] ⚠ Thread allocation measurement not supported by this JVM — skipping check");
+        return;
+    }
+    if (metrics.allocatedBytes() >= maxBytes) {
+        throw new AssertionError("❌ " + metrics.endpoint() + " allocated " + metrics.allocatedBytes()
+                + " bytes, budget was " + maxBytes + " bytes");
+    }
+}
+
+/** Assert the request used less than maxCpu of CPU time on the executing thread */
+public void assertCpuTimeBelow(MvcResult result, Duration maxCpu) {
+    RequestMetrics metrics = metricsOf(result);
+    if (metrics.cpuNanos() < 0) {
+        log("[TESTBASE] ⚠ Thread CPU time measurement not supported by this JVM — skipping check");
+        return;
+    }
+    if (metrics.cpuNanos() >= maxCpu.toNanos()) {
+        throw new AssertionError("❌ " + metrics.endpoint() + " used " + metrics.cpuNanos() / 1_000_000.0
+                + " ms CPU, budget was " + maxCpu.toMillis() + " ms");
+    }
+}
+
 public List<String> asStringList(MvcResult result) throws Exception {
     return objectMapper.readValue(
             result.getResponse().getContentAsString(),
@@ -0,0 +1,159 @@
+package com.example.testbaseclass;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * ✅ TestShardPlanner
+ * --------------------------------------------------------------------
+ * Assigns test classes to N shards by bin-packing their historical runtimes
+ * (see {@link ClassTimingExtension}), keeping classes that share a Spring
+ * context on the same shard so the context cache is reused.
+ *
+ * Two classes are assumed to share a context when they carry the same
+ * Spring test annotations (e.g. @ActiveProfiles, @Import, @TestPropertySource)
+ * across their hierarchy and declare the same mock/spy bean fields.
+ * Classes annotated with @DirtiesContext always get their own group.
+ *
+ * The plan is deterministic: every machine computing it from the same
+ * timing file and the same discovered classes gets the same assignment.
+ */
+public final class TestShardPlanner {
+
+    /** Runtime assumed for classes without history when no other timings exist. */
+    private static final long DEFAULT_MILLIS = 1000;
+
+    private TestShardPlanner() {
+    }
+
+    /** A set of classes expected to share one Spring context. */
+    public record ContextGroup(String key, List<Class<?>> classes, long millis) {
+    }
+
+    /**
+     * Assign classes to shards.
+     *
+     * @return shard index (0-based) for every class
+     */
+    public static Map<Class<?>, Integer> assign(List<Class<?>> classes, Map<String, Long> timings, int shardCount) {
+        Map<Class<?>, Integer> assignment = new HashMap<>();
+        if (shardCount <= 1) {
+            classes.forEach(c -> assignment.put(c, 0));
+            return assignment;
+        }
+
+        List<ContextGroup> groups = groups(classes, timings);
+        long total = groups.stream().mapToLong(ContextGroup::millis).sum();
+        long target = Math.max(1, total / shardCount);
+
+        // a context group larger than a fair shard is split, otherwise one shard dominates
+        List<ContextGroup> units = new ArrayList<>();
+        for (ContextGroup group : groups) {
+            units.addAll(group.millis() > target ? split(group, timings, target) : List.of(group));
+        }
+        units.sort(Comparator.comparingLong(ContextGroup::millis).reversed().thenComparing(ContextGroup::key));
+
+        // longest-processing-time first: each unit goes to the currently lightest shard
+        long[] load = new long[shardCount];
+        for (ContextGroup unit : units) {
+            int lightest = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (load[i] < load[lightest]) {
+                    lightest = i;
+                }
+            }
+            load[lightest] += unit.millis();
+            for (Class<?> c : unit.classes()) {
+                assignment.put(c, lightest);
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * Group classes by context key. Groups are ordered longest first and
+     * classes inside a group longest first.
+     */
+    public static List<ContextGroup> groups(List<Class<?>> classes, Map<String, Long> timings) {
+        long fallback = fallbackMillis(timings);
+        Map<String, List<Class<?>>> byKey = new TreeMap<>();
+        for (Class<?> c : classes) {
+            byKey.computeIfAbsent(contextKey(c), k -> new ArrayList<>()).add(c);
+        }
+
+        List<ContextGroup> groups = new ArrayList<>();
+        byKey.forEach((key, members) -> {
+            members.sort(Comparator.<Class<?>>comparingLong(c -> millis(c, timings, fallback)).reversed()
+                    .thenComparing(Class::getName));
+            long sum = members.stream().mapToLong(c -> millis(c, timings, fallback)).sum();
+            groups.add(new ContextGroup(key, members, sum));
+        });
+        groups.sort(Comparator.comparingLong(ContextGroup::millis).reversed().thenComparing(ContextGroup::key));
+        return groups;
+    }
+
+    /** Stable key approximating the Spring context cache key of a test class. */
+    public static String contextKey(Class<?> testClass) {
+        TreeSet<String> parts = new TreeSet<>();
+        for (Class<?> c = testClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Annotation annotation : c.getDeclaredAnnotations()) {
+                String type = annotation.annotationType().getName();
+                if (type.endsWith(".DirtiesContext")) {
+                    return "dirties:" + testClass.getName();
+                }
+                if (type.startsWith("org.springframework.")) {
+                    parts.add(annotation.toString());
+                }
+            }
+            for (Field field : c.getDeclaredFields()) {
+                for (Annotation annotation : field.getDeclaredAnnotations()) {
+                    String name = annotation.annotationType().getSimpleName();
+                    if (name.endsWith("MockBean") || name.endsWith("SpyBean") || name.endsWith("MockitoBean")) {
+                        parts.add(name + ":" + field.getType().getName() + ":" + annotation);
+                    }
+                }
+            }
+        }
+        return Integer.toHexString(String.join("|", parts).hashCode());
+    }
+
+    private static List<ContextGroup> split(ContextGroup group, Map<String, Long> timings, long target) {
+        long fallback = fallbackMillis(timings);
+        List<ContextGroup> chunks = new ArrayList<>();
+        List<Class<?>> current = new ArrayList<>();
+        long currentMillis = 0;
+        for (Class<?> c : group.classes()) {
+            long m = millis(c, timings, fallback);
+            if (!current.isEmpty() && currentMillis + m > target) {
+                chunks.add(new ContextGroup(group.key() + "#" + chunks.size(), current, currentMillis));
+                current = new ArrayList<>();
+                currentMillis = 0;
+            }
+            current.add(c);
+            currentMillis += m;
+        }
+        chunks.add(new ContextGroup(group.key() + "#" + chunks.size(), current, currentMillis));
+        return chunks;
+    }
+
+    private static long millis(Class<?> c, Map<String, Long> timings, long fallback) {
+        return timings.getOrDefault(c.getName(), fallback);
+    }
+
+    /** Unknown classes are assumed to take the median of known ones. */
+    private static long fallbackMillis(Map<String, Long> timings) {
+        if (timings.isEmpty()) {
+            return DEFAULT_MILLIS;
+        }
+        List<Long> values = new ArrayList<>(timings.values());
+        values.sort(null);
+        return Math.max(1, values.get(values.size() / 2));
+    }
+}
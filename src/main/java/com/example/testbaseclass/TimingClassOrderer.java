@@ -0,0 +1,37 @@
+package com.example.testbaseclass;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ TimingClassOrderer
+ * --------------------------------------------------------------------
+ * Orders test classes so that classes sharing a Spring context run back to
+ * back (one context load per group while it is still in the context cache),
+ * longest groups and longest classes first.
+ *
+ * Enable in src/test/resources/junit-platform.properties:
+ *   junit.jupiter.testclass.order.default=com.example.testbaseclass.TimingClassOrderer
+ */
+public class TimingClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        List<? extends ClassDescriptor> descriptors = context.getClassDescriptors();
+        List<Class<?>> classes = descriptors.stream().<Class<?>>map(ClassDescriptor::getTestClass).toList();
+
+        Map<Class<?>, Integer> position = new HashMap<>();
+        for (TestShardPlanner.ContextGroup group : TestShardPlanner.groups(classes, ClassTimingExtension.loadTimings())) {
+            for (Class<?> c : group.classes()) {
+                position.put(c, position.size());
+            }
+        }
+
+        descriptors.sort((a, b) -> Integer.compare(position.get(a.getTestClass()), position.get(b.getTestClass())));
+    }
+}
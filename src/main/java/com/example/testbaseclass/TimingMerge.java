@@ -0,0 +1,108 @@
+package com.example.testbaseclass;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * ✅ TimingMerge
+ * --------------------------------------------------------------------
+ * Folds the per-fork timing outputs written by {@link ClassTimingExtension}
+ * into the timing snapshot the next run plans from. Run it once, after all
+ * shards have finished and their outputs have been collected:
+ *
+ *   java com.example.testbaseclass.TimingMerge .testbase-timings.properties target/testbase-timings
+ *
+ * Arguments: the snapshot file, then output files or directories (every
+ * *.properties inside). Defaults: the configured snapshot and
+ * target/testbase-timings. A class measured several times is averaged first;
+ * the result is then averaged with its snapshot value to smooth noise.
+ * Classes not measured in this run keep their snapshot value.
+ *
+ * Merged output files are deleted once the new snapshot is in place, so
+ * running the merge again does not average the same measurements twice.
+ */
+public final class TimingMerge {
+
+    private TimingMerge() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path snapshot = args.length > 0 ? Path.of(args[0]) : ClassTimingExtension.timingFile();
+        List<Path> outputs = new ArrayList<>();
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) {
+                outputs.add(Path.of(args[i]));
+            }
+        } else {
+            outputs.add(Path.of("target/testbase-timings"));
+        }
+        int merged = merge(snapshot, outputs);
+        System.out.println("[TESTBASE] Merged " + merged + " class timings into " + snapshot.toAbsolutePath());
+    }
+
+    /**
+     * Merge the outputs into the snapshot, replacing it atomically, then
+     * delete the merged output files.
+     *
+     * @return number of classes measured in the outputs
+     */
+    public static int merge(Path snapshot, List<Path> outputs) throws IOException {
+        List<Path> files = files(outputs);
+        Map<String, long[]> measured = new HashMap<>(); // class -> {sum, count}
+        for (Path output : files) {
+            ClassTimingExtension.loadTimings(output).forEach((name, millis) -> {
+                long[] m = measured.computeIfAbsent(name, k -> new long[2]);
+                m[0] += millis;
+                m[1]++;
+            });
+        }
+
+        Properties props = new Properties();
+        ClassTimingExtension.loadTimings(snapshot).forEach((name, millis) -> props.setProperty(name, Long.toString(millis)));
+        measured.forEach((name, m) -> {
+            long current = m[0] / m[1];
+            String previous = props.getProperty(name);
+            long smoothed = previous == null ? current : (Long.parseLong(previous) + current) / 2;
+            props.setProperty(name, Long.toString(smoothed));
+        });
+
+        Path dir = snapshot.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, snapshot.getFileName().toString(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            props.store(out, "TestBase class runtimes (ms)");
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // consumed: a second merge must not fold the same run in again
+        for (Path output : files) {
+            if (!output.toAbsolutePath().equals(snapshot.toAbsolutePath())) {
+                Files.deleteIfExists(output);
+            }
+        }
+        return measured.size();
+    }
+
+    private static List<Path> files(List<Path> outputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path output : outputs) {
+            if (Files.isDirectory(output)) {
+                try (DirectoryStream<Path> dir = Files.newDirectoryStream(output, "*.properties")) {
+                    dir.forEach(files::add);
+                }
+            } else if (Files.isRegularFile(output)) {
+                files.add(output);
+            }
+        }
+        return files;
+    }
+}
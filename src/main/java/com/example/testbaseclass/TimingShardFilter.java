@@ -0,0 +1,104 @@
+package com.example.testbaseclass;
+
+import org.junit.platform.commons.PreconditionViolationException;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ✅ TimingShardFilter
+ * --------------------------------------------------------------------
+ * Post-discovery filter that keeps only the test classes assigned to this
+ * shard by {@link TestShardPlanner} (historical timings, Spring-context
+ * grouping). Registered automatically through META-INF/services and
+ * inactive unless a shard is selected:
+ *
+ *   mvn test -Dtestbase.shard.total=4 -Dtestbase.shard.index=0
+ *
+ * (index is 0-based and must be below total; an out-of-range index fails
+ * discovery instead of silently running no tests). Run one invocation per
+ * CI machine, each with its own index and the same timing snapshot.
+ *
+ * The plan is built from the classes listed in the timing snapshot rather
+ * than from what a single discovery request contains, and the snapshot is
+ * not modified while tests run (new timings go to a separate output, see
+ * {@link ClassTimingExtension}), so every surefire fork and every machine
+ * agrees on it. Classes without history are spread by a stable hash of
+ * their name until their timing has been merged into the snapshot.
+ */
+public class TimingShardFilter implements PostDiscoveryFilter {
+
+    private Map<Class<?>, Integer> plan;
+
+    @Override
+    public synchronized FilterResult apply(TestDescriptor descriptor) {
+        int total = Integer.getInteger("testbase.shard.total", 1);
+        if (total <= 1) {
+            return FilterResult.included("sharding disabled");
+        }
+        int index = Integer.getInteger("testbase.shard.index", 0);
+        if (index < 0 || index >= total) {
+            throw new PreconditionViolationException("testbase.shard.index must be in [0, " + total
+                    + ") for testbase.shard.total=" + total + " but was " + index);
+        }
+
+        Class<?> testClass = topLevelClass(descriptor);
+        if (testClass == null) {
+            return FilterResult.included("not a top-level test class");
+        }
+
+        if (plan == null) {
+            Map<String, Long> timings = ClassTimingExtension.loadTimings();
+            plan = TestShardPlanner.assign(knownClasses(timings), timings, total);
+            System.out.println("[TESTBASE] Shard " + index + "/" + total + " planned from " + plan.size()
+                    + " timed classes (" + ClassTimingExtension.timingFile().toAbsolutePath() + ")");
+        }
+
+        Integer shard = plan.get(testClass);
+        if (shard == null) {
+            shard = Math.floorMod(testClass.getName().hashCode(), total);
+        }
+        return shard == index
+                ? FilterResult.included("assigned to shard " + index)
+                : FilterResult.excluded("assigned to shard " + shard);
+    }
+
+    /** Top-level classes named in the timing file that still exist on the classpath. */
+    private static List<Class<?>> knownClasses(Map<String, Long> timings) {
+        List<Class<?>> classes = new ArrayList<>();
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        for (String name : timings.keySet()) {
+            if (name.contains("$")) {
+                continue; // @Nested classes run inside their enclosing class
+            }
+            try {
+                classes.add(Class.forName(name, false, loader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                // class was removed or renamed since it was timed
+            }
+        }
+        return classes;
+    }
+
+    /** The class of a descriptor whose parent is not itself a class (i.e. not @Nested), else null. */
+    private static Class<?> topLevelClass(TestDescriptor descriptor) {
+        Optional<Class<?>> own = classOf(descriptor);
+        if (own.isEmpty()) {
+            return null;
+        }
+        boolean nested = descriptor.getParent().flatMap(TimingShardFilter::classOf).isPresent();
+        return nested ? null : own.get();
+    }
+
+    private static Optional<Class<?>> classOf(TestDescriptor descriptor) {
+        return descriptor.getSource()
+                .filter(ClassSource.class::isInstance)
+                .map(source -> ((ClassSource) source).getJavaClass());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.testbaseclass;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClassTimingExtensionTest {
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("testbase.timing.file");
+        System.clearProperty("testbase.timing.output");
+    }
+
+    private static ExtensionContext finishedClass(Class<?> testClass, long startNanos) {
+        ExtensionContext context = mock(ExtensionContext.class);
+        ExtensionContext.Store store = mock(ExtensionContext.Store.class);
+        when(context.getStore(any())).thenReturn(store);
+        when(store.remove(any(), eq(Long.class))).thenReturn(startNanos);
+        when(context.getTestClass()).thenReturn(Optional.of(testClass));
+        return context;
+    }
+
+    @Test
+    void afterAll_writesToOutputAndNeverTouchesSnapshot() throws Exception {
+        Path snapshot = dir.resolve("snapshot.properties");
+        Path output = dir.resolve("out/1.properties");
+        Files.writeString(snapshot, "java.lang.String=5\n");
+        System.setProperty("testbase.timing.file", snapshot.toString());
+        System.setProperty("testbase.timing.output", output.toString());
+
+        ClassTimingExtension extension = new ClassTimingExtension();
+        extension.afterAll(finishedClass(String.class, System.nanoTime() - 3_000_000_000L));
+        extension.afterAll(finishedClass(Integer.class, System.nanoTime()));
+
+        assertThat(Files.readString(snapshot)).isEqualTo("java.lang.String=5\n");
+        assertThat(ClassTimingExtension.loadTimings(output))
+                .containsOnlyKeys("java.lang.String", "java.lang.Integer")
+                .hasEntrySatisfying("java.lang.String", millis -> assertThat(millis).isGreaterThanOrEqualTo(3000));
+        assertThat(ClassTimingExtension.loadTimings()).containsOnlyKeys("java.lang.String");
+    }
+
+    @Test
+    void loadTimings_ignoresCorruptEntriesAndMissingFile() throws Exception {
+        Path file = dir.resolve("timings.properties");
+        Files.writeString(file, "a.A=100\nb.B=oops\n");
+
+        assertThat(ClassTimingExtension.loadTimings(file)).containsOnlyKeys("a.A");
+        assertThat(ClassTimingExtension.loadTimings(dir.resolve("missing.properties"))).isEmpty();
+    }
+
+    @Test
+    void timingOutput_defaultsToOneFilePerFork() {
+        assertThat(ClassTimingExtension.timingOutput().toString())
+                .startsWith(Path.of("target/testbase-timings").toString())
+                .endsWith(".properties");
+    }
+}
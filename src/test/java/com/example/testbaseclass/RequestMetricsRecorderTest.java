@@ -0,0 +1,97 @@
+package com.example.testbaseclass;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestMetricsRecorderTest {
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        RequestMetricsRecorder.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestMetricsRecorder.reset();
+        System.clearProperty("testbase.metrics.report");
+    }
+
+    private static RequestMetrics metrics(String url, String route, long wall, long cpu, long alloc) {
+        return new RequestMetrics("GET", url, route, 200, wall, cpu, alloc);
+    }
+
+    @Test
+    void record_aggregatesPerRoute() {
+        RequestMetricsRecorder.record(metrics("/api/users/1", "/api/users/{id}", 100, 10, 1000));
+        RequestMetricsRecorder.record(metrics("/api/users/2", "/api/users/{id}", 300, 30, 3000));
+
+        List<RequestMetricsRecorder.EndpointStats> stats = RequestMetricsRecorder.stats();
+
+        assertThat(stats).hasSize(1);
+        RequestMetricsRecorder.EndpointStats s = stats.get(0);
+        assertThat(s.endpoint()).isEqualTo("GET /api/users/{id}");
+        assertThat(s.count()).isEqualTo(2);
+        assertThat(s.meanWallNanos()).isEqualTo(200);
+        assertThat(s.meanCpuNanos()).isEqualTo(20);
+        assertThat(s.maxCpuNanos()).isEqualTo(30);
+        assertThat(s.meanAllocatedBytes()).isEqualTo(2000);
+        assertThat(s.maxAllocatedBytes()).isEqualTo(3000);
+    }
+
+    @Test
+    void probe_fallsBackToPathWithoutQuery() {
+        RequestMetrics m = RequestMetricsRecorder.start().finish("GET", "/api/users?page=2#top", null, 200);
+
+        assertThat(m.endpoint()).isEqualTo("GET /api/users");
+        assertThat(m.url()).isEqualTo("/api/users?page=2#top");
+        assertThat(m.wallNanos()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void pathOf_stripsQueryAndFragment() {
+        assertThat(RequestMetrics.pathOf("/a/b")).isEqualTo("/a/b");
+        assertThat(RequestMetrics.pathOf("/a#x?y")).isEqualTo("/a");
+        assertThat(RequestMetrics.pathOf("/a?x#y")).isEqualTo("/a");
+    }
+
+    @Test
+    void writeReport_writesCsvOnlyWhenSomethingNewWasRecorded() throws Exception {
+        Path report = dir.resolve("metrics.csv");
+        System.setProperty("testbase.metrics.report", report.toString());
+
+        RequestMetricsRecorder.writeReport();
+        assertThat(report).doesNotExist();
+
+        RequestMetricsRecorder.record(metrics("/api/orders", "/api/orders", 100, 10, 1000));
+        RequestMetricsRecorder.writeReport();
+        assertThat(Files.readAllLines(report)).containsExactly(
+                "endpoint,count,wallNanosAvg,cpuNanosAvg,cpuNanosMax,allocatedBytesAvg,allocatedBytesMax",
+                "GET /api/orders,1,100,10,10,1000,1000");
+
+        Files.delete(report);
+        RequestMetricsRecorder.writeReport();
+        assertThat(report).doesNotExist();
+    }
+
+    @Test
+    void suspend_disablesMeasurementUntilResumed() {
+        RequestMetricsRecorder.suspend();
+        try {
+            assertThat(RequestMetricsRecorder.isEnabled()).isFalse();
+        } finally {
+            RequestMetricsRecorder.resume();
+        }
+        assertThat(RequestMetricsRecorder.isEnabled()).isTrue();
+    }
+}
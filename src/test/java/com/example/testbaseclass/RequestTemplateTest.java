@@ -0,0 +1,132 @@
+package com.example.testbaseclass;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonWriterCache jsonWriters = new JsonWriterCache(objectMapper);
+
+    record Dated(String name, @JsonFormat(pattern = "dd.MM.yyyy") LocalDate date) {
+    }
+
+    record Nicknamed(String name, @JsonInclude(JsonInclude.Include.NON_NULL) String nickname) {
+    }
+
+    private Map<String, Object> body() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", "placeholder");
+        body.put("email", "placeholder@mail");
+        body.put("tags", List.of("a", "b"));
+        return body;
+    }
+
+    @Test
+    void templateWithoutSlots_reusesSameBytes() throws Exception {
+        RequestTemplate template = RequestTemplate.compile(jsonWriters, body());
+
+        byte[] first = template.render();
+        assertThat(template.render()).isSameAs(first);
+        assertThat(objectMapper.readTree(first)).isEqualTo(objectMapper.valueToTree(body()));
+    }
+
+    @Test
+    void render_splicesValuesIntoSlots() throws Exception {
+        RequestTemplate template = RequestTemplate.compile(jsonWriters, body(), "name", "email");
+
+        String json = new String(template.render("Alice", "alice@mail"), StandardCharsets.UTF_8);
+
+        assertThat(json).isEqualTo("{\"name\":\"Alice\",\"email\":\"alice@mail\",\"tags\":[\"a\",\"b\"]}");
+    }
+
+    @Test
+    void render_valuesFollowFieldOrderNotBodyOrder() throws Exception {
+        RequestTemplate template = RequestTemplate.compile(jsonWriters, body(), "email", "name");
+
+        String json = new String(template.render("bob@mail", "Bob"), StandardCharsets.UTF_8);
+
+        assertThat(json).isEqualTo("{\"name\":\"Bob\",\"email\":\"bob@mail\",\"tags\":[\"a\",\"b\"]}");
+    }
+
+    @Test
+    void render_serializesNonStringAndNullValues() throws Exception {
+        RequestTemplate template = RequestTemplate.compile(jsonWriters, body(), "name", "tags");
+
+        String json = new String(template.render(null, Map.of("k", 1)), StandardCharsets.UTF_8);
+
+        assertThat(json).isEqualTo("{\"name\":null,\"email\":\"placeholder@mail\",\"tags\":{\"k\":1}}");
+    }
+
+    @Test
+    void renderNamed_looksUpValuesByField() throws Exception {
+        RequestTemplate template = RequestTemplate.compile(jsonWriters, body(), "name");
+
+        String json = new String(template.renderNamed(Map.of("name", "Carol")), StandardCharsets.UTF_8);
+
+        assertThat(objectMapper.readTree(json).get("name").asText()).isEqualTo("Carol");
+    }
+
+    @Test
+    void compile_doesNotMutateCallerNode() throws Exception {
+        var node = objectMapper.valueToTree(body());
+
+        RequestTemplate.compile(jsonWriters, node, "name");
+
+        assertThat(node.toString()).contains("placeholder");
+    }
+
+    @Test
+    void invalidUsage_isRejected() throws Exception {
+        assertThatThrownBy(() -> RequestTemplate.compile(jsonWriters, body(), "missing"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RequestTemplate.compile(jsonWriters, List.of(1, 2), "name"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        RequestTemplate template = RequestTemplate.compile(jsonWriters, body(), "name");
+        assertThatThrownBy(() -> template.render("a", "b")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> template.renderNamed(Map.of())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void slotWithSerializationAnnotation_isRejected() {
+        assertThatThrownBy(() -> RequestTemplate.compile(jsonWriters, new Dated("n", LocalDate.of(2024, 1, 2)), "date"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("JsonFormat");
+    }
+
+    @Test
+    void unannotatedSlotOfAnnotatedBean_isAllowed() throws Exception {
+        RequestTemplate template = RequestTemplate.compile(jsonWriters, new Nicknamed("n", "nick"), "name");
+
+        assertThat(new String(template.render("Dora"), StandardCharsets.UTF_8))
+                .isEqualTo("{\"name\":\"Dora\",\"nickname\":\"nick\"}");
+    }
+
+    @Test
+    void nullForPropertyOmittedWhenNull_isRejected() throws Exception {
+        RequestTemplate template = RequestTemplate.compile(jsonWriters, new Nicknamed("n", "nick"), "nickname");
+
+        assertThat(new String(template.render("Ed"), StandardCharsets.UTF_8)).contains("\"nickname\":\"Ed\"");
+        assertThatThrownBy(() -> template.render((Object) null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void nullWithMapperDefaultNonNull_isRejected() throws Exception {
+        ObjectMapper nonNull = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        RequestTemplate template = RequestTemplate.compile(new JsonWriterCache(nonNull), new Nicknamed("n", "x"), "name");
+
+        assertThatThrownBy(() -> template.render((Object) null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.testbaseclass;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementRecorderTest {
+
+    private static final String INSERT = "INSERT INTO items (id, name) VALUES (?, ?)";
+
+    private JdbcDataSource target;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = new JdbcDataSource();
+        target.setURL("jdbc:h2:mem:recorder;DB_CLOSE_DELAY=-1");
+        dataSource = SqlStatementRecorder.wrap(target);
+        try (Connection c = target.getConnection(); Statement st = c.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS items");
+            st.execute("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(50))");
+        }
+        SqlStatementRecorder.reset();
+        SqlStatementRecorder.resetTimings();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementRecorder.clearCurrentEndpoint();
+        SqlStatementRecorder.reset();
+        SqlStatementRecorder.resetTimings();
+    }
+
+    private void insert(int id, String name) throws Exception {
+        try (Connection c = dataSource.getConnection(); PreparedStatement ps = c.prepareStatement(INSERT)) {
+            ps.setInt(1, id);
+            ps.setString(2, name);
+            ps.executeUpdate();
+        }
+    }
+
+    @Test
+    void wrap_recordsDistinctStatementsWithEndpointAndFirstParameters() throws Exception {
+        SqlStatementRecorder.setCurrentEndpoint("POST /api/items");
+        insert(1, "a");
+        insert(2, "b");
+        SqlStatementRecorder.clearCurrentEndpoint();
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement()) {
+            st.executeQuery("SELECT count(*) FROM items").close();
+        }
+
+        assertThat(SqlStatementRecorder.statements()).containsExactly(
+                new SqlStatementRecorder.RecordedStatement("POST /api/items", INSERT, Arrays.asList(1, "a")),
+                new SqlStatementRecorder.RecordedStatement(null, "SELECT count(*) FROM items", Arrays.asList()));
+    }
+
+    @Test
+    void timings_countExecutionsAndSurviveReset() throws Exception {
+        insert(1, "a");
+        insert(2, "b");
+        SqlStatementRecorder.reset();
+
+        assertThat(SqlStatementRecorder.statements()).isEmpty();
+        assertThat(SqlStatementRecorder.timings())
+                .singleElement()
+                .satisfies(t -> {
+                    assertThat(t.sql()).isEqualTo(INSERT);
+                    assertThat(t.executions()).isEqualTo(2);
+                    assertThat(t.meanNanos()).isPositive();
+                });
+    }
+
+    @Test
+    void suspend_stopsRecordingUntilResumed() throws Exception {
+        SqlStatementRecorder.suspend();
+        try {
+            insert(1, "a");
+        } finally {
+            SqlStatementRecorder.resume();
+        }
+        assertThat(SqlStatementRecorder.statements()).isEmpty();
+        assertThat(SqlStatementRecorder.timings()).isEmpty();
+
+        insert(2, "b");
+        assertThat(SqlStatementRecorder.statements()).hasSize(1);
+    }
+
+    @Test
+    void unwrap_returnsTargetAndPlainDataSourcesUnchanged() {
+        assertThat(SqlStatementRecorder.isRecording(dataSource)).isTrue();
+        assertThat(SqlStatementRecorder.unwrap(dataSource)).isSameAs(target);
+        assertThat(SqlStatementRecorder.isRecording(target)).isFalse();
+        assertThat(SqlStatementRecorder.unwrap(target)).isSameAs(target);
+    }
+}
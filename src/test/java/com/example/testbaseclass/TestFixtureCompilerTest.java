@@ -0,0 +1,133 @@
+package com.example.testbaseclass;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestFixtureCompilerTest {
+
+    private static final String JSON = """
+            [
+              {"id": 1, "description": "first", "price": 1.50, "active": true, "tags": ["a", "b"]},
+              {"id": 3000000000, "description": null, "price": 2.25, "active": false, "meta": {"k": 1}},
+              {"description": "mixed", "price": 3, "active": true}
+            ]
+            """;
+
+    @TempDir
+    Path dir;
+
+    private File write(String name, String text) throws Exception {
+        Path file = dir.resolve(name);
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+        return file.toFile();
+    }
+
+    private static List<Map<String, Object>> parseText(File source, ObjectMapper objectMapper) throws Exception {
+        return objectMapper.readValue(source, new TypeReference<>() {});
+    }
+
+    @Test
+    void sql_roundTripMatchesTextSplit() throws Exception {
+        String sql = "DELETE FROM orders;\n INSERT INTO orders (description) VALUES ('a');\n\n;";
+        File source = write("data.sql", sql);
+
+        assertThat(TestFixtureCompiler.compile(source)).isTrue();
+
+        assertThat(TestFixtureCompiler.readSql(source)).isEqualTo(TestFixtureCompiler.splitSql(sql))
+                .containsExactly("DELETE FROM orders", "INSERT INTO orders (description) VALUES ('a')");
+    }
+
+    @Test
+    void json_roundTripMatchesTextParse() throws Exception {
+        File source = write("data.json", JSON);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertThat(TestFixtureCompiler.compile(source)).isTrue();
+        List<Map<String, Object>> rows = TestFixtureCompiler.readJson(source, objectMapper);
+
+        assertThat(rows).isEqualTo(parseText(source, objectMapper));
+        assertThat(rows.get(0).get("id")).isInstanceOf(Integer.class);
+        assertThat(rows.get(1).get("id")).isInstanceOf(Long.class);
+        assertThat(rows.get(1)).containsEntry("description", null).doesNotContainKey("tags");
+        assertThat(rows.get(2)).doesNotContainKey("id");
+    }
+
+    @Test
+    void json_followsCallerMapperNumberTypes() throws Exception {
+        File source = write("data.json", JSON);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .enable(DeserializationFeature.USE_LONG_FOR_INTS);
+
+        TestFixtureCompiler.compile(source);
+        List<Map<String, Object>> rows = TestFixtureCompiler.readJson(source, objectMapper);
+
+        assertThat(rows).isEqualTo(parseText(source, objectMapper));
+        assertThat(rows.get(0).get("price")).isEqualTo(new BigDecimal("1.50"));
+        assertThat(rows.get(0).get("id")).isEqualTo(1L);
+    }
+
+    @Test
+    void staleCompiledFile_fallsBackToText() throws Exception {
+        File source = write("data.json", JSON);
+        TestFixtureCompiler.compile(source);
+
+        Files.writeString(source.toPath(), JSON + " ", StandardCharsets.UTF_8);
+
+        assertThat(TestFixtureCompiler.readJson(source, new ObjectMapper())).isNull();
+    }
+
+    @Test
+    void truncatedCompiledFile_fallsBackToText() throws Exception {
+        File source = write("data.json", JSON);
+        TestFixtureCompiler.compile(source);
+        File compiled = TestFixtureCompiler.compiledFile(source);
+
+        byte[] bytes = Files.readAllBytes(compiled.toPath());
+        Files.write(compiled.toPath(), Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertThat(TestFixtureCompiler.readJson(source, new ObjectMapper())).isNull();
+    }
+
+    @Test
+    void corruptStringLength_fallsBackToText() throws Exception {
+        File source = write("data.sql", "SELECT 1;");
+        TestFixtureCompiler.compile(source);
+        File compiled = TestFixtureCompiler.compiledFile(source);
+
+        byte[] bytes = Files.readAllBytes(compiled.toPath());
+        bytes[27] = 0x7f; // high byte of the first statement's length, right after header and count
+        Files.write(compiled.toPath(), bytes);
+
+        assertThat(TestFixtureCompiler.readSql(source)).isNull();
+    }
+
+    @Test
+    void missingCompiledFile_returnsNull() throws Exception {
+        File source = write("data.sql", "SELECT 1;");
+
+        assertThat(TestFixtureCompiler.readSql(source)).isNull();
+    }
+
+    @Test
+    void jsonThatIsNotAnArray_isNotCompiled() throws Exception {
+        File source = write("data.json", "{\"id\": 1}");
+
+        assertThat(TestFixtureCompiler.compile(source)).isFalse();
+        assertThat(TestFixtureCompiler.compiledFile(source)).doesNotExist();
+    }
+}
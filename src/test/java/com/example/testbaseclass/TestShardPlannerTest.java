@@ -0,0 +1,107 @@
+package com.example.testbaseclass;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TestShardPlannerTest {
+
+    @ActiveProfiles("a") static class A { }
+    @ActiveProfiles("b") static class B { }
+    @ActiveProfiles("c") static class C { }
+    @ActiveProfiles("d") static class D { }
+
+    @ActiveProfiles("shared") static class Shared1 { }
+    @ActiveProfiles("shared") static class Shared2 { }
+    @ActiveProfiles("shared") static class Shared3 { }
+
+    @DirtiesContext @ActiveProfiles("shared") static class Dirty { }
+
+    private static Map<String, Long> timings(Object... classAndMillis) {
+        Map<String, Long> timings = new HashMap<>();
+        for (int i = 0; i < classAndMillis.length; i += 2) {
+            timings.put(((Class<?>) classAndMillis[i]).getName(), ((Number) classAndMillis[i + 1]).longValue());
+        }
+        return timings;
+    }
+
+    private static long load(Map<Class<?>, Integer> assignment, Map<String, Long> timings, int shard) {
+        return assignment.entrySet().stream()
+                .filter(e -> e.getValue() == shard)
+                .mapToLong(e -> timings.get(e.getKey().getName()))
+                .sum();
+    }
+
+    @Test
+    void singleShard_assignsEverythingToShardZero() {
+        Map<Class<?>, Integer> assignment = TestShardPlanner.assign(List.of(A.class, B.class), Map.of(), 1);
+
+        assertThat(assignment).containsOnly(Map.entry(A.class, 0), Map.entry(B.class, 0));
+    }
+
+    @Test
+    void assign_balancesLoadAcrossShards() {
+        Map<String, Long> timings = timings(A.class, 400, B.class, 300, C.class, 200, D.class, 100);
+
+        Map<Class<?>, Integer> assignment = TestShardPlanner.assign(
+                List.of(A.class, B.class, C.class, D.class), timings, 2);
+
+        assertThat(load(assignment, timings, 0)).isEqualTo(500);
+        assertThat(load(assignment, timings, 1)).isEqualTo(500);
+    }
+
+    @Test
+    void assign_keepsSharedContextClassesTogether() {
+        Map<String, Long> timings = timings(Shared1.class, 100, Shared2.class, 100, A.class, 300, B.class, 300);
+
+        Map<Class<?>, Integer> assignment = TestShardPlanner.assign(
+                List.of(Shared1.class, Shared2.class, A.class, B.class), timings, 2);
+
+        assertThat(assignment.get(Shared1.class)).isEqualTo(assignment.get(Shared2.class));
+    }
+
+    @Test
+    void assign_splitsGroupLargerThanAFairShard() {
+        Map<String, Long> timings = timings(Shared1.class, 1000, Shared2.class, 1000, Shared3.class, 1000, A.class, 10);
+
+        Map<Class<?>, Integer> assignment = TestShardPlanner.assign(
+                List.of(Shared1.class, Shared2.class, Shared3.class, A.class), timings, 3);
+
+        assertThat(List.of(assignment.get(Shared1.class), assignment.get(Shared2.class), assignment.get(Shared3.class)))
+                .containsExactlyInAnyOrder(0, 1, 2);
+    }
+
+    @Test
+    void assign_isDeterministicRegardlessOfInputOrder() {
+        Map<String, Long> timings = timings(A.class, 250, B.class, 250, C.class, 250, D.class, 250);
+
+        Map<Class<?>, Integer> first = TestShardPlanner.assign(List.of(A.class, B.class, C.class, D.class), timings, 2);
+        Map<Class<?>, Integer> second = TestShardPlanner.assign(List.of(D.class, C.class, B.class, A.class), timings, 2);
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void groups_orderLongestFirstAndUseMedianForUnknownClasses() {
+        Map<String, Long> timings = timings(A.class, 100, B.class, 500, C.class, 300);
+
+        List<TestShardPlanner.ContextGroup> groups = TestShardPlanner.groups(
+                List.of(A.class, B.class, C.class, D.class), timings);
+
+        assertThat(groups).extracting(TestShardPlanner.ContextGroup::millis).containsExactly(500L, 300L, 300L, 100L);
+        assertThat(groups.get(0).classes()).containsExactly(B.class);
+    }
+
+    @Test
+    void contextKey_matchesForSameAnnotationsAndIsolatesDirtiesContext() {
+        assertThat(TestShardPlanner.contextKey(Shared1.class)).isEqualTo(TestShardPlanner.contextKey(Shared2.class));
+        assertThat(TestShardPlanner.contextKey(Shared1.class)).isNotEqualTo(TestShardPlanner.contextKey(A.class));
+        assertThat(TestShardPlanner.contextKey(Dirty.class)).isNotEqualTo(TestShardPlanner.contextKey(Shared1.class));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.testbaseclass;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingMergeTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void merge_averagesOutputsWithSnapshotAndKeepsUnmeasuredClasses() throws Exception {
+        Path snapshot = dir.resolve("snapshot.properties");
+        Files.writeString(snapshot, "com.x.A=1000\ncom.x.B=400\n");
+        Path outputs = Files.createDirectories(dir.resolve("outputs"));
+        Files.writeString(outputs.resolve("1.properties"), "com.x.A=2000\ncom.x.C=300\n");
+        Files.writeString(outputs.resolve("2.properties"), "com.x.A=4000\n");
+
+        int merged = TimingMerge.merge(snapshot, List.of(outputs));
+
+        assertThat(merged).isEqualTo(2);
+        assertThat(ClassTimingExtension.loadTimings(snapshot))
+                .containsEntry("com.x.A", 2000L)   // (1000 + avg(2000, 4000)) / 2
+                .containsEntry("com.x.B", 400L)
+                .containsEntry("com.x.C", 300L);
+    }
+
+    @Test
+    void merge_consumesOutputsSoMergingTwiceIsIdempotent() throws Exception {
+        Path snapshot = dir.resolve("snapshot.properties");
+        Files.writeString(snapshot, "com.x.A=1000\n");
+        Path outputs = Files.createDirectories(dir.resolve("outputs"));
+        Path output = outputs.resolve("1.properties");
+        Files.writeString(output, "com.x.A=3000\n");
+
+        TimingMerge.merge(snapshot, List.of(outputs));
+        Map<String, Long> afterFirst = ClassTimingExtension.loadTimings(snapshot);
+        int mergedAgain = TimingMerge.merge(snapshot, List.of(outputs));
+
+        assertThat(output).doesNotExist();
+        assertThat(mergedAgain).isZero();
+        assertThat(ClassTimingExtension.loadTimings(snapshot)).isEqualTo(afterFirst).containsEntry("com.x.A", 2000L);
+    }
+
+    @Test
+    void merge_createsSnapshotWhenMissing() throws Exception {
+        Path snapshot = dir.resolve("new.properties");
+        Path output = dir.resolve("out.properties");
+        Files.writeString(output, "com.x.A=700\n");
+
+        TimingMerge.merge(snapshot, List.of(output, dir.resolve("missing")));
+
+        assertThat(ClassTimingExtension.loadTimings(snapshot)).containsOnly(Map.entry("com.x.A", 700L));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.testbaseclass;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.commons.PreconditionViolationException;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimingShardFilterTest {
+
+    static class Sample { }
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("testbase.timing.file", dir.resolve("none.properties").toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("testbase.timing.file");
+        System.clearProperty("testbase.shard.total");
+        System.clearProperty("testbase.shard.index");
+    }
+
+    private static TestDescriptor classDescriptor(Class<?> testClass) {
+        TestDescriptor descriptor = mock(TestDescriptor.class);
+        when(descriptor.getSource()).thenReturn(Optional.of(ClassSource.from(testClass)));
+        when(descriptor.getParent()).thenReturn(Optional.empty());
+        return descriptor;
+    }
+
+    private static void shard(int index, int total) {
+        System.setProperty("testbase.shard.total", Integer.toString(total));
+        System.setProperty("testbase.shard.index", Integer.toString(index));
+    }
+
+    @Test
+    void withoutSharding_includesEverything() {
+        assertThat(new TimingShardFilter().apply(classDescriptor(Sample.class)).included()).isTrue();
+    }
+
+    @Test
+    void unknownClass_isIncludedOnExactlyOneShard() {
+        int included = 0;
+        for (int index = 0; index < 3; index++) {
+            shard(index, 3);
+            if (new TimingShardFilter().apply(classDescriptor(Sample.class)).included()) {
+                included++;
+            }
+        }
+        assertThat(included).isEqualTo(1);
+    }
+
+    @Test
+    void indexOutOfRange_failsDiscovery() {
+        shard(4, 4);
+        assertThatThrownBy(() -> new TimingShardFilter().apply(classDescriptor(Sample.class)))
+                .isInstanceOf(PreconditionViolationException.class)
+                .hasMessageContaining("[0, 4)");
+
+        shard(-1, 4);
+        assertThatThrownBy(() -> new TimingShardFilter().apply(classDescriptor(Sample.class)))
+                .isInstanceOf(PreconditionViolationException.class);
+    }
+}